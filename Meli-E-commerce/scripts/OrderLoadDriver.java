@@ -0,0 +1,100 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal closed-loop load driver for the order endpoints, run as a single-file program:
+ * java scripts/OrderLoadDriver.java <baseUrl> <concurrency> <seconds>
+ * Each client loops over a fixed mix of order reads and writes and the driver prints
+ * requests per second, mean latency and error count per endpoint.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class OrderLoadDriver {
+
+    record Stats(LongAdder count, LongAdder errors, LongAdder nanos) {
+        Stats() {
+            this(new LongAdder(), new LongAdder(), new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Map<String, Stats> stats = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        long userId = 1 + random.nextInt(3);
+                        int pick = random.nextInt(10);
+                        if (pick < 4) {
+                            call(client, stats, "GET /api/orders/{id}",
+                                    get(baseUrl + "/api/orders/" + (1 + random.nextInt(50))));
+                        } else if (pick < 7) {
+                            call(client, stats, "GET /api/orders/user/{userId}",
+                                    get(baseUrl + "/api/orders/user/" + userId));
+                        } else if (pick < 9) {
+                            call(client, stats, "GET /api/orders",
+                                    get(baseUrl + "/api/orders?size=20"));
+                        } else {
+                            String body = "[{\"productId\":" + (1 + random.nextInt(5)) + ",\"quantity\":1}]";
+                            call(client, stats, "POST /api/orders/{userId}", HttpRequest.newBuilder()
+                                    .uri(URI.create(baseUrl + "/api/orders/" + userId))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                                    .build());
+                        }
+                    }
+                });
+            }
+        }
+
+        long total = 0;
+        System.out.printf("%-32s %10s %10s %8s%n", "endpoint", "req/s", "mean ms", "errors");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(stats).entrySet()) {
+            Stats s = entry.getValue();
+            long count = s.count().sum();
+            total += count;
+            System.out.printf("%-32s %10.1f %10.1f %8d%n", entry.getKey(), (double) count / seconds,
+                    count == 0 ? 0 : s.nanos().sum() / 1_000_000.0 / count, s.errors().sum());
+        }
+        System.out.printf("%-32s %10.1f%n", "TOTAL", (double) total / seconds);
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+    }
+
+    private static void call(HttpClient client, Map<String, Stats> stats, String name, HttpRequest request) {
+        Stats s = stats.computeIfAbsent(name, key -> new Stats());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                s.errors().increment();
+            }
+        } catch (Exception ex) {
+            s.errors().increment();
+        }
+        s.nanos().add(System.nanoTime() - start);
+        s.count().increment();
+    }
+}
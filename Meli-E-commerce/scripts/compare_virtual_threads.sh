@@ -0,0 +1,74 @@
+#!/bin/sh
+
+echo "=========================================================="
+echo "  MeliECommerce - Platform vs Virtual Threads Comparison"
+echo "=========================================================="
+echo ""
+
+# Runs the order endpoints under artificial database latency, first on Tomcat's platform
+# thread pool and then with virtual threads, using the same Hikari pool size for both.
+# Requires Java 21 on the PATH (or JAVA_HOME pointing to it).
+
+LATENCY="${LATENCY:-50ms}"
+POOL_SIZE="${POOL_SIZE:-300}"
+TOMCAT_THREADS="${TOMCAT_THREADS:-200}"
+CONCURRENCY="${CONCURRENCY:-600}"
+DURATION="${DURATION:-30}"
+PORT="${PORT:-8080}"
+
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$PROJECT_DIR" || exit 1
+
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+if ! "$JAVA" -version 2>&1 | grep -q 'version "2[1-9]'; then
+    echo "Java 21 or higher is required (set JAVA_HOME)."
+    exit 1
+fi
+
+echo "Building with the virtual-threads Maven profile..."
+mvn -q clean package -DskipTests -Pvirtual-threads || exit 1
+JAR="$(ls target/*.jar | grep -v original | head -n 1)"
+
+run_mode() {
+    MODE="$1"
+    PROFILES="$2"
+
+    echo ""
+    echo "---------------------------------------------------"
+    echo "Mode: $MODE (profiles: $PROFILES)"
+    echo "  Latency per statement: $LATENCY"
+    echo "  Hikari pool size: $POOL_SIZE"
+    echo "  Tomcat platform threads: $TOMCAT_THREADS"
+    echo "  Concurrent clients: $CONCURRENCY"
+    echo "---------------------------------------------------"
+
+    "$JAVA" -jar "$JAR" \
+        --spring.profiles.active="$PROFILES" \
+        --server.port="$PORT" \
+        --db.artificial-latency="$LATENCY" \
+        --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+        --server.tomcat.threads.max="$TOMCAT_THREADS" \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=WARN \
+        --logging.level.org.technoready.meliecommerce=WARN > "target/compare-$MODE.log" 2>&1 &
+    APP_PID=$!
+
+    until curl -s "http://localhost:$PORT/api/products" > /dev/null; do
+        sleep 1
+    done
+
+    # Seed orders so the read endpoints have data
+    for i in $(seq 1 50); do
+        curl -s -X POST "http://localhost:$PORT/api/orders/$(( (i % 3) + 1 ))" \
+            -H "Content-Type: application/json" \
+            -d '[{"productId":1,"quantity":1},{"productId":3,"quantity":2}]' > /dev/null
+    done
+
+    "$JAVA" scripts/OrderLoadDriver.java "http://localhost:$PORT" "$CONCURRENCY" "$DURATION"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null
+}
+
+run_mode platform "test,latency"
+run_mode virtual "test,latency,virtual"
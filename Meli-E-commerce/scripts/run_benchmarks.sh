@@ -0,0 +1,30 @@
+#!/bin/sh
+
+echo "=========================================================="
+echo "  MeliECommerce - JMH Microbenchmarks"
+echo "=========================================================="
+echo ""
+
+# Runs the JMH benchmarks in src/jmh/java with the GC profiler and writes the results to
+# target/jmh-result.json. With --save-baseline the results replace docs/benchmarks/jmh-baseline.json,
+# the baseline reviewed together with changes to the order hot path.
+# Any other arguments are passed to JMH (e.g. "MapperBenchmark -p lines=10").
+
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$PROJECT_DIR" || exit 1
+
+SAVE_BASELINE=false
+if [ "$1" = "--save-baseline" ]; then
+    SAVE_BASELINE=true
+    shift
+fi
+
+JMH_ARGS="-prof gc -rf json -rff target/jmh-result.json $*"
+
+mvn -q -Pbenchmarks test-compile exec:exec -Djmh.args="$JMH_ARGS" || exit 1
+
+if [ "$SAVE_BASELINE" = true ]; then
+    cp target/jmh-result.json docs/benchmarks/jmh-baseline.json
+    echo ""
+    echo "Baseline updated: docs/benchmarks/jmh-baseline.json"
+fi
@@ -0,0 +1,16 @@
+#!/bin/sh
+
+echo "=========================================================="
+echo "  MeliECommerce - Load Test"
+echo "=========================================================="
+echo ""
+
+# Boots the application on the 'test' profile (in-memory H2, random port), seeds it and drives the
+# order, product and user endpoints with closed-loop clients. Arguments are key=value settings, e.g.
+#   ./scripts/run_load_test.sh concurrency=64 duration=60 mix=order-get=70,order-create=30
+# Results: throughput and latency percentiles on the console, plus target/loadtest/*.hgrm and summary.json.
+
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+cd "$PROJECT_DIR" || exit 1
+
+mvn -q -Ploadtest test-compile exec:exec -Dloadtest.args="$*"
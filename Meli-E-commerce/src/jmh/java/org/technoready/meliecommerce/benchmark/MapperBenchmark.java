@@ -0,0 +1,56 @@
+package org.technoready.meliecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.util.MapperUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of orders, for a single order and for a page of orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private static final int ORDERS_PER_PAGE = 50;
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private Order order;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = OrderFixtures.orders(ORDERS_PER_PAGE, OrderFixtures.products(lines));
+        order = orders.get(0);
+    }
+
+    @Benchmark
+    public OrderResponseDTO toDTO() {
+        return MapperUtil.toDTO(order);
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> toDTOList() {
+        return MapperUtil.toDTOList(orders);
+    }
+}
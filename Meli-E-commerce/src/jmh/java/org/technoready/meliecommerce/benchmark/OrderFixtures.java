@@ -0,0 +1,66 @@
+package org.technoready.meliecommerce.benchmark;
+
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.OrderDetails;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds detached entities and requests shaped like the ones the order endpoints handle.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder().id(id).name("Bench").lastName("User").email("bench" + id + "@example.com")
+                .createDate(LocalDate.of(2026, 10, 16)).active(true).build();
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            products.add(Product.builder().id(id).name("Product " + id)
+                    .description("Benchmark product number " + id).price(100.0 + id)
+                    .created_at(LocalTime.NOON).active(true).build());
+        }
+        return products;
+    }
+
+    static List<OrderDetailsDTO> lines(List<Product> products) {
+        return products.stream().map(product -> new OrderDetailsDTO(product.getId(), 2)).toList();
+    }
+
+    static Order order(long id, User user, List<Product> products) {
+        Order order = Order.builder().id(id).user(user).createdAt(LocalDateTime.of(2026, 10, 16, 12, 0))
+                .active(true).build();
+        List<OrderDetails> details = new ArrayList<>(products.size());
+        double total = 0;
+        for (Product product : products) {
+            details.add(OrderDetails.builder().id(id * 1000 + product.getId()).order(order).product(product)
+                    .productName(product.getName()).descriptionSnap(product.getDescription())
+                    .quantity(2).unitPrice(product.getPrice()).build());
+            total += product.getPrice() * 2;
+        }
+        order.setDetails(details);
+        order.setTotal(total);
+        return order;
+    }
+
+    static List<Order> orders(int count, List<Product> products) {
+        User user = user(1);
+        List<Order> orders = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            orders.add(order(id, user, products));
+        }
+        return orders;
+    }
+}
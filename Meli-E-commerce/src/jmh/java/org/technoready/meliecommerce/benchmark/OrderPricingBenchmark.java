@@ -0,0 +1,109 @@
+package org.technoready.meliecommerce.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.cache.UserStatusIndex;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.outbox.OrderOutbox;
+import org.technoready.meliecommerce.repository.OrderOutboxRepository;
+import org.technoready.meliecommerce.repository.OrderRepository;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.repository.UserRepository;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+import org.technoready.meliecommerce.service.InventoryService;
+import org.technoready.meliecommerce.service.OrderPricingService;
+import org.technoready.meliecommerce.service.OrderService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Order pricing on its own and the whole OrderService.createOrder path with mocked repositories,
+ * so only the in-memory work (validation, cache lookups, line merging, snapshots, the outbox
+ * payload) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private OrderPricingService orderPricingService;
+
+    private OrderService orderService;
+
+    private Map<Long, Product> products;
+
+    private List<OrderDetailsDTO> request;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = OrderFixtures.products(lines);
+        products = catalog.stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+        request = OrderFixtures.lines(catalog);
+        User user = OrderFixtures.user(1);
+
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(any())).thenReturn(catalog);
+        when(productRepository.getReferenceById(anyLong())).then(invocation -> products.get(invocation.getArgument(0)));
+        when(productRepository.reserveStock(anyLong(), anyInt())).thenReturn(1);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.getReferenceById(anyLong())).thenReturn(user);
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.save(any(Order.class))).then(returnsFirstArg());
+
+        ProductCatalogCache productCatalogCache = new ProductCatalogCache(productRepository, true, 10_000, Duration.ZERO);
+        UserStatusIndex userStatusIndex = new UserStatusIndex(userRepository);
+        userStatusIndex.put(user);
+
+        ECommerceMetrics metrics = new ECommerceMetrics(new SimpleMeterRegistry());
+
+        orderPricingService = new OrderPricingService(productCatalogCache, productRepository, metrics);
+        orderService = new OrderService(orderRepository, userRepository, orderPricingService, null, userStatusIndex,
+                metrics, new InventoryService(productRepository, productCatalogCache), null,
+                new ProductAutocompleteIndex(productRepository, null),
+                new OrderOutbox(mock(OrderOutboxRepository.class), new ObjectMapper().findAndRegisterModules()));
+    }
+
+    @Benchmark
+    public OrderPricingService.PricedOrder price() {
+        return orderPricingService.price(new Order(), request, products);
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(1L, request);
+    }
+}
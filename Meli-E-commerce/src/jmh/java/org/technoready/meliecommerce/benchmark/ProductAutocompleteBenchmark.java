@@ -0,0 +1,63 @@
+package org.technoready.meliecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductAutocompleteIndex.suggest for prefixes of one, three and nine characters, the keystrokes
+ * of a search box, over a synthetic catalog with random order popularity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductAutocompleteBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "laptop", "monitor", "teclado", "mouse", "audífonos", "bocina", "cámara", "impresora", "router", "tablet"};
+    private static final String[] BRANDS = {
+            "asus", "lenovo", "hp", "dell", "acer", "samsung", "lg", "sony", "logitech", "xiaomi", "apple", "razer"};
+
+    @Param({"100000"})
+    private int products;
+
+    @Param({"l", "lap", "laptop as"})
+    private String prefix;
+
+    private ProductAutocompleteIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductAutocompleteIndex(null, null);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= products; id++) {
+            String name = CATEGORIES[random.nextInt(CATEGORIES.length)] + " "
+                    + BRANDS[random.nextInt(BRANDS.length)] + " m" + random.nextInt(products);
+            index.index(Product.builder().id(id).version(0L).name(name).price(100.0).active(true).build());
+            index.recordOrderAfterCommit(Map.of(), Map.of(id, random.nextInt(1, 1000)));
+        }
+    }
+
+    @Benchmark
+    public List<ProductAutocompleteIndex.Suggestion> suggest() {
+        return index.suggest(prefix, ProductAutocompleteIndex.MAX_SUGGESTIONS);
+    }
+}
@@ -0,0 +1,74 @@
+package org.technoready.meliecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.search.ProductPriceIndex;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductPriceIndex over a synthetic catalog priced from 1 to 10000 in cents: the first and a deep
+ * page of a price range, and a price update that moves a product to another block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductPriceBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ProductPriceIndex index;
+    private String deepCursor;
+    private SplittableRandom random;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        index = new ProductPriceIndex(null);
+        random = new SplittableRandom(42);
+        for (long id = 1; id <= products; id++) {
+            index.index(product(id, 0L));
+        }
+        String cursor = null;
+        for (int page = 0; page < 20; page++) {
+            cursor = index.page(500, 2000, cursor, CursorPage.DEFAULT_SIZE).nextCursor();
+        }
+        deepCursor = cursor;
+    }
+
+    @Benchmark
+    public CursorPage<Long> firstPage() {
+        return index.page(500, 2000, null, CursorPage.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Long> deepPage() {
+        return index.page(500, 2000, deepCursor, CursorPage.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public void priceUpdate() {
+        index.index(product(1 + random.nextInt(products), ++version));
+    }
+
+    private Product product(long id, long version) {
+        return Product.builder().id(id).version(version).name("p").description("")
+                .price((1 + random.nextInt(1_000_000)) / 100.0).active(true).build();
+    }
+}
@@ -0,0 +1,79 @@
+package org.technoready.meliecommerce.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.search.ProductSearchIndex;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductSearchIndex.search over a synthetic catalog. Names combine a category, a brand and a
+ * model and descriptions have 2 to 12 words, so "laptop" matches about 1 in 20 products,
+ * "laptop asus" adds a second, longer posting list and a model number matches a handful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "laptop", "monitor", "teclado", "mouse", "audífonos", "bocina", "cámara", "impresora", "router", "tablet",
+            "celular", "reloj", "cargador", "cable", "disco", "memoria", "silla", "escritorio", "micrófono", "consola"};
+    private static final String[] BRANDS = {
+            "asus", "lenovo", "hp", "dell", "acer", "samsung", "lg", "sony", "logitech", "xiaomi", "apple", "razer"};
+    private static final String[] ADJECTIVES = {
+            "inalámbrico", "gamer", "portátil", "profesional", "compacto", "ergonómico", "rgb", "usb", "bluetooth"};
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(null);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= products; id++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            String name = category + " " + brand + " " + "m" + random.nextInt(products / 4 + 1);
+            StringBuilder description = new StringBuilder();
+            for (int word = random.nextInt(2, 13); word > 0; word--) {
+                description.append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append(' ');
+            }
+            description.append("para ").append(category);
+            index.index(Product.builder().id(id).version(0L).name(name).description(description.toString())
+                    .price(100.0).active(true).build());
+        }
+    }
+
+    @Benchmark
+    public List<ProductSearchIndex.Hit> commonTerm() {
+        return index.search("laptop", 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchIndex.Hit> twoTerms() {
+        return index.search("laptop asus", 20);
+    }
+
+    @Benchmark
+    public List<ProductSearchIndex.Hit> rareTerm() {
+        return index.search("M1234", 20);
+    }
+}
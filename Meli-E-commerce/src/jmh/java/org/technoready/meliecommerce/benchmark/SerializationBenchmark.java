@@ -0,0 +1,57 @@
+package org.technoready.meliecommerce.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.dto.SuccessResponseDTO;
+import org.technoready.meliecommerce.util.MapperUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a page of orders wrapped in the standard success response,
+ * with an ObjectMapper configured the way Spring MVC configures its message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int ORDERS_PER_PAGE = 50;
+
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private ObjectWriter writer;
+
+    private SuccessResponseDTO<List<OrderResponseDTO>> response;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        List<OrderResponseDTO> orders = MapperUtil.toDTOList(
+                OrderFixtures.orders(ORDERS_PER_PAGE, OrderFixtures.products(lines)));
+        response = SuccessResponseDTO.of(200, "Retrieved 50 orders successfully", orders, "NTA");
+    }
+
+    @Benchmark
+    public byte[] serializeOrderPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,193 @@
+package org.technoready.meliecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.technoready.meliecommerce.MeliECommerceApplication;
+import org.technoready.meliecommerce.dto.BulkOrderRequestDTO;
+import org.technoready.meliecommerce.dto.BulkOrderResultDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.repository.UserRepository;
+import org.technoready.meliecommerce.service.BulkOrderService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Self-contained load test: boots the application on the 'test' profile (in-memory H2) on a random port,
+ * seeds users, products and orders, then runs closed-loop HTTP clients over a weighted mix of reads and
+ * writes and reports throughput and latency percentiles per operation.
+ * Run with {@code mvn -Ploadtest test-compile exec:exec -Dloadtest.args="concurrency=64 duration=60"}
+ * or scripts/run_load_test.sh.
+ */
+public final class LoadTest {
+
+    private static final String JSON = "application/json";
+    private static final ObjectMapper REQUEST_MAPPER = new ObjectMapper();
+
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Operation[] weightedOperations;
+
+    private List<Long> userIds;
+    private List<Long> productIds;
+    private List<Long> orderIds;
+
+    private LoadTest(LoadTestSettings settings, int port) {
+        this.settings = settings;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.weightedOperations = settings.mix().entrySet().stream()
+                .flatMap(entry -> IntStream.range(0, entry.getValue()).mapToObj(i -> entry.getKey()))
+                .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(args);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MeliECommerceApplication.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.org.technoready.meliecommerce.controller=WARN",
+                        "--logging.level.org.technoready.meliecommerce.service=WARN",
+                        "--logging.level.org.technoready.meliecommerce.exception=WARN");
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            LoadTest loadTest = new LoadTest(settings, port);
+            loadTest.seed(context);
+            loadTest.run(context.getBean(ObjectMapper.class));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Seeds the database through the repositories and the bulk order service, remembering every ID.
+     */
+    private void seed(ConfigurableApplicationContext context) {
+        System.out.printf("Seeding %d users, %d products and %d orders of %d lines...%n",
+                settings.users(), settings.products(), settings.orders(), settings.linesPerOrder());
+
+        List<User> users = IntStream.range(0, settings.users())
+                .mapToObj(i -> User.builder().name("Load").lastName("User " + i)
+                        .email("load.user" + i + "@example.com").active(true).build())
+                .toList();
+        userIds = context.getBean(UserRepository.class).saveAll(users).stream().map(User::getId).toList();
+
+        List<Product> products = IntStream.range(0, settings.products())
+                .mapToObj(i -> Product.builder().name("Load product " + i).description("Seeded for the load test")
+                        .price(10.0 + i % 500).active(true).build())
+                .toList();
+        productIds = context.getBean(ProductRepository.class).saveAll(products).stream().map(Product::getId).toList();
+
+        List<BulkOrderRequestDTO> requests = IntStream.range(0, settings.orders())
+                .mapToObj(i -> new BulkOrderRequestDTO(randomId(userIds), randomLines()))
+                .toList();
+        orderIds = context.getBean(BulkOrderService.class).placeOrders(requests).stream()
+                .filter(BulkOrderResultDTO::isSuccess)
+                .map(BulkOrderResultDTO::getOrderId)
+                .toList();
+    }
+
+    private void run(ObjectMapper objectMapper) throws InterruptedException, IOException {
+        System.out.printf("Running %d clients: %ds warmup, %ds recorded, mix %s%n",
+                settings.concurrency(), settings.warmupSeconds(), settings.durationSeconds(), settings.mixDescription());
+
+        LoadTestReport report = new LoadTestReport(settings.mix().keySet());
+        long recordFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long recordUntil = recordFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        ExecutorService clients = Executors.newFixedThreadPool(settings.concurrency());
+        for (int i = 0; i < settings.concurrency(); i++) {
+            clients.submit(() -> clientLoop(report, recordFrom, recordUntil));
+        }
+        clients.shutdown();
+        clients.awaitTermination(settings.warmupSeconds() + settings.durationSeconds() + 60L, TimeUnit.SECONDS);
+
+        report.write(settings, settings.durationSeconds(), objectMapper, System.out);
+    }
+
+    /**
+     * Issues requests back to back until the end of the run. Only requests that start inside the
+     * recorded window are counted, so warmup and the tail of in-flight requests are left out.
+     */
+    private void clientLoop(LoadTestReport report, long recordFrom, long recordUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= recordUntil) {
+                return;
+            }
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(request(operation), HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() < 300;
+            } catch (IOException ex) {
+                success = false;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= recordFrom) {
+                report.record(operation, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), success);
+            }
+        }
+    }
+
+    private HttpRequest request(Operation operation) throws IOException {
+        return switch (operation) {
+            case ORDER_GET -> get("/api/orders/" + randomId(orderIds));
+            case ORDER_LIST -> get("/api/orders?size=50");
+            case ORDER_BY_USER -> get("/api/orders/user/" + randomId(userIds));
+            case PRODUCT_GET -> get("/api/products/" + randomId(productIds));
+            case PRODUCT_LIST -> get("/api/products?size=50");
+            case USER_GET -> get("/api/user/" + randomId(userIds));
+            case ORDER_CREATE -> send("POST", "/api/orders/" + randomId(userIds));
+            case ORDER_UPDATE -> send("PUT", "/api/orders/" + randomId(orderIds));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path) throws IOException {
+        byte[] body = REQUEST_MAPPER.writeValueAsBytes(randomLines());
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", JSON)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private List<OrderDetailsDTO> randomLines() {
+        List<OrderDetailsDTO> lines = new ArrayList<>(settings.linesPerOrder());
+        for (int i = 0; i < settings.linesPerOrder(); i++) {
+            lines.add(new OrderDetailsDTO(randomId(productIds), 1 + ThreadLocalRandom.current().nextInt(3)));
+        }
+        return lines;
+    }
+
+    private static Long randomId(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
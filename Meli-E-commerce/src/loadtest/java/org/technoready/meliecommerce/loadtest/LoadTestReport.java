@@ -0,0 +1,137 @@
+package org.technoready.meliecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms (microseconds) and error counts per operation, and the files written from them:
+ * one HdrHistogram percentile distribution (.hgrm, in milliseconds) per operation plus the total,
+ * and a summary.json with throughput and the p50/p95/p99/p999 latencies.
+ */
+class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /**
+     * Latency percentiles and throughput of one operation, or of all of them.
+     */
+    record OperationSummary(long requests, long errors, double throughput, double meanMs, double p50Ms,
+                            double p95Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LoadTestReport(Iterable<Operation> operations) {
+        for (Operation operation : operations) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long micros, boolean success) {
+        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Prints the summary table and writes the .hgrm files and summary.json.
+     *
+     * @param settings LoadTestSettings - The settings of the run, copied into the summary
+     * @param seconds double - Length of the recorded window
+     * @param objectMapper ObjectMapper - Mapper used to write summary.json
+     * @param out PrintStream - Where the table is printed
+     */
+    void write(LoadTestSettings settings, double seconds, ObjectMapper objectMapper, PrintStream out) throws IOException {
+        Path dir = settings.outputDir();
+        Files.createDirectories(dir);
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        Map<String, OperationSummary> operations = new LinkedHashMap<>();
+
+        out.printf("%n%-14s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long operationErrors = errors.get(entry.getKey()).sum();
+            total.add(histogram);
+            totalErrors += operationErrors;
+
+            OperationSummary summary = summarize(histogram, operationErrors, seconds);
+            operations.put(entry.getKey().key(), summary);
+            print(out, entry.getKey().key(), summary);
+            writeHgrm(dir.resolve(entry.getKey().key() + ".hgrm"), histogram);
+        }
+
+        OperationSummary overall = summarize(total, totalErrors, seconds);
+        print(out, "total", overall);
+        writeHgrm(dir.resolve("total.hgrm"), total);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Object> settingsSummary = new LinkedHashMap<>();
+        settingsSummary.put("concurrency", settings.concurrency());
+        settingsSummary.put("warmupSeconds", settings.warmupSeconds());
+        settingsSummary.put("durationSeconds", settings.durationSeconds());
+        settingsSummary.put("users", settings.users());
+        settingsSummary.put("products", settings.products());
+        settingsSummary.put("orders", settings.orders());
+        settingsSummary.put("linesPerOrder", settings.linesPerOrder());
+        settingsSummary.put("mix", settings.mixDescription());
+        summary.put("settings", settingsSummary);
+        summary.put("recordedSeconds", seconds);
+        summary.put("total", overall);
+        summary.put("operations", operations);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), summary);
+
+        out.printf("%nHistograms and summary.json written to %s%n", dir.toAbsolutePath());
+    }
+
+    private static OperationSummary summarize(Histogram histogram, long errors, double seconds) {
+        long count = histogram.getTotalCount();
+        return new OperationSummary(
+                count,
+                errors,
+                round(count / seconds),
+                round(histogram.getMean() / MICROS_PER_MILLI),
+                millis(histogram, 50.0),
+                millis(histogram, 95.0),
+                millis(histogram, 99.0),
+                millis(histogram, 99.9),
+                round(histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private static void print(PrintStream out, String name, OperationSummary summary) {
+        out.printf("%-14s %9d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n", name, summary.requests(), summary.errors(),
+                summary.throughput(), summary.p50Ms(), summary.p95Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs());
+    }
+
+    private static void writeHgrm(Path file, Histogram histogram) throws IOException {
+        try (PrintStream stream = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(stream, MICROS_PER_MILLI);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.technoready.meliecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Load test parameters, read from {@code key=value} arguments with defaults for every key.
+ *
+ * @param concurrency int - Number of closed-loop clients
+ * @param warmupSeconds int - Seconds run before recording starts
+ * @param durationSeconds int - Seconds recorded
+ * @param users int - Users seeded before the run
+ * @param products int - Products seeded before the run
+ * @param orders int - Orders seeded before the run
+ * @param linesPerOrder int - Lines of every seeded or created order
+ * @param mix Map<Operation, Integer> - Relative weight of every operation
+ * @param outputDir Path - Directory receiving the .hgrm files and summary.json
+ */
+record LoadTestSettings(int concurrency, int warmupSeconds, int durationSeconds, int users, int products,
+                        int orders, int linesPerOrder, Map<Operation, Integer> mix, Path outputDir) {
+
+    static final String DEFAULT_MIX =
+            "order-get=30,order-list=5,order-by-user=10,product-get=20,product-list=5,user-get=10,order-create=15,order-update=5";
+
+    static LoadTestSettings from(String[] args) {
+        Map<String, String> values = Arrays.stream(args)
+                .map(arg -> arg.split("=", 2))
+                .filter(pair -> pair.length == 2)
+                .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1], (first, second) -> second));
+
+        return new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("duration", "30")),
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Integer.parseInt(values.getOrDefault("products", "500")),
+                Integer.parseInt(values.getOrDefault("orders", "2000")),
+                Integer.parseInt(values.getOrDefault("lines", "5")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(values.getOrDefault("output", "target/loadtest")));
+    }
+
+    /**
+     * Returns the mix in the same {@code key=weight} form it is configured with.
+     */
+    String mixDescription() {
+        return mix.entrySet().stream()
+                .map(entry -> entry.getKey().key() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Parses a mix such as {@code order-get=70,order-create=30}. Operations left out are not run.
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split("[=:]", 2);
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The operation mix is empty: " + mix);
+        }
+        return weights;
+    }
+}
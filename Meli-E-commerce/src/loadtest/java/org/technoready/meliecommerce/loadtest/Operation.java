@@ -0,0 +1,41 @@
+package org.technoready.meliecommerce.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Requests the load test can issue, identified in the mix by their key.
+ */
+enum Operation {
+    ORDER_GET("order-get", false),
+    ORDER_LIST("order-list", false),
+    ORDER_BY_USER("order-by-user", false),
+    PRODUCT_GET("product-get", false),
+    PRODUCT_LIST("product-list", false),
+    USER_GET("user-get", false),
+    ORDER_CREATE("order-create", true),
+    ORDER_UPDATE("order-update", true);
+
+    private final String key;
+    private final boolean write;
+
+    Operation(String key, boolean write) {
+        this.key = key;
+        this.write = write;
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean isWrite() {
+        return write;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
@@ -0,0 +1,233 @@
+package org.technoready.meliecommerce.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory cache of products by ID, shared by product reads and order pricing.
+ * Entries are evicted by size and, optionally, after a time-to-live. Writes through
+ * ProductService invalidate entries synchronously, and a generation counter keeps a load
+ * that raced with an invalidation from leaving a stale product in the cache.
+ * Entries are immutable copies of the loaded products, never the entities themselves: every read
+ * returns new detached Product instances, so no entity is shared between threads or transactions.
+ * Listeners are told which products changed on every product or stock change made through this
+ * instance. Hit, miss and eviction counts are published as the product.catalog cache metrics.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ProductCatalogCache implements MeterBinder {
+
+    private final ProductRepository productRepository;
+    private final Cache<Long, CachedProduct> cache;
+    private final boolean enabled;
+    private final AtomicLong generation = new AtomicLong();
+    private final List<Consumer<Collection<Long>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public ProductCatalogCache(ProductRepository productRepository,
+                               @Value("${catalog.cache.enabled:true}") boolean enabled,
+                               @Value("${catalog.cache.max-size:10000}") long maxSize,
+                               @Value("${catalog.cache.ttl:0s}") Duration ttl) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats();
+        if (!ttl.isZero()) {
+            builder.expireAfterWrite(ttl);
+        }
+        this.cache = builder.build();
+
+        log.info("Product catalog cache (enabled: {}, maxSize: {}, ttl: {})", enabled, maxSize, ttl);
+    }
+
+    /**
+     * Immutable copy of the columns of a product, as stored in the cache.
+     */
+    private record CachedProduct(Long id, String name, String description, Double price, Integer stock,
+                                 LocalTime createdAt, boolean active, Long version) {
+
+        static CachedProduct of(Product product) {
+            return new CachedProduct(product.getId(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getStock(), product.getCreated_at(), product.isActive(),
+                    product.getVersion());
+        }
+
+        Product toProduct() {
+            return new Product(id, name, description, price, stock, createdAt, active, version);
+        }
+    }
+
+    /**
+     * Retrieves a product by ID, loading it from the database on a miss.
+     *
+     * @param id Long - The ID of the product
+     * @return Optional<Product> - A detached copy of the product if it exists, empty otherwise
+     */
+    public Optional<Product> get(Long id) {
+        return Optional.ofNullable(getAll(List.of(id)).get(id));
+    }
+
+    /**
+     * Retrieves several products by ID, loading every miss with a single query.
+     * IDs that do not exist in the database are absent from the result.
+     *
+     * @param ids Collection<Long> - The IDs of the products
+     * @return Map<Long, Product> - Detached copies of the found products keyed by ID
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        if (!enabled) {
+            return toProducts(load(ids));
+        }
+
+        Map<Long, CachedProduct> found = new HashMap<>(cache.getAllPresent(ids));
+        if (found.size() == ids.size()) {
+            return toProducts(found);
+        }
+
+        List<Long> missing = new ArrayList<>(ids.size() - found.size());
+        for (Long id : ids) {
+            if (!found.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+
+        long loadGeneration = generation.get();
+        Map<Long, CachedProduct> loaded = load(missing);
+        if (generation.get() == loadGeneration) {
+            cache.putAll(loaded);
+            // An invalidation between the check and the put may have been missed: undo the put
+            if (generation.get() != loadGeneration) {
+                cache.invalidateAll(loaded.keySet());
+            }
+        }
+        found.putAll(loaded);
+        return toProducts(found);
+    }
+
+    /**
+     * Removes a product from the cache so the next read goes to the database.
+     *
+     * @param id Long - The ID of the product that changed
+     */
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+        notifyChange(List.of(id));
+    }
+
+    /**
+     * Evicts products once the current transaction commits, so product reads pick up a stock change.
+     * Unlike invalidate, this does not discard loads running concurrently: stock changes constantly
+     * on a hot product and never affects pricing, and reservations always check the database, so a
+     * read racing the commit may at worst show the previous stock until the next change.
+     * Without a transaction the products are evicted immediately.
+     *
+     * @param ids Collection<Long> - The IDs of the products whose stock changed
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(changed);
+            notifyChange(changed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(changed);
+                notifyChange(changed);
+            }
+        });
+    }
+
+    /**
+     * Removes every product from the cache.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        notifyChange(List.of());
+    }
+
+    /**
+     * Registers a listener told about every product or stock change made through this instance,
+     * once it is committed. It is called with the IDs of the changed products, or an empty
+     * collection when any product may have changed.
+     *
+     * @param listener Consumer<Collection<Long>> - Callback receiving the changed product IDs
+     */
+    public void onChange(Consumer<Collection<Long>> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Publishes the hit, miss, eviction and size metrics of the cache under the name product.catalog.
+     *
+     * @param registry MeterRegistry - The registry to publish to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "product.catalog");
+    }
+
+    /**
+     * Returns the approximate number of cached products.
+     *
+     * @return long - Number of entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void notifyChange(Collection<Long> ids) {
+        for (Consumer<Collection<Long>> listener : changeListeners) {
+            listener.accept(ids);
+        }
+    }
+
+    private Map<Long, CachedProduct> load(Collection<Long> ids) {
+        Map<Long, CachedProduct> products = new HashMap<>(ids.size() * 2);
+        for (Product product : productRepository.findAllById(ids)) {
+            products.put(product.getId(), CachedProduct.of(product));
+        }
+        return products;
+    }
+
+    private static Map<Long, Product> toProducts(Map<Long, CachedProduct> cached) {
+        Map<Long, Product> products = new HashMap<>(cached.size() * 2);
+        for (Map.Entry<Long, CachedProduct> entry : cached.entrySet()) {
+            products.put(entry.getKey(), entry.getValue().toProduct());
+        }
+        return products;
+    }
+}
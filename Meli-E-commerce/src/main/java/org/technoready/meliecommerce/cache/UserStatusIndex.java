@@ -0,0 +1,172 @@
+package org.technoready.meliecommerce.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.dto.UserStatusDTO;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory index of user IDs to their active flag, used to validate users on every order
+ * request without a database round trip. Warmed at startup, kept current by UserService
+ * writes, and falls back to the database for IDs it does not know yet.
+ * Each user takes one long holding its version and active flag, in chunks of CHUNK_SIZE
+ * consecutive IDs, since IDs come from a sequence. An entry is only replaced by one with a
+ * newer version, so neither a slow database read nor writes recorded out of commit order can
+ * overwrite a newer status.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatusIndex {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int WARM_BATCH = 1000;
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, AtomicLongArray> chunks = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Loads the status of every user once the application is ready, in keyset batches
+     * of WARM_BATCH users.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        long afterId = 0L;
+        List<User> users;
+        do {
+            users = userRepository.findAllByIdGreaterThanOrderByIdAsc(afterId, Limit.of(WARM_BATCH));
+            for (User user : users) {
+                put(user);
+                afterId = user.getId();
+            }
+        } while (users.size() == WARM_BATCH);
+        log.info("User status index warmed with {} users", size.get());
+    }
+
+    /**
+     * Returns whether a user exists and is active.
+     * Unknown IDs are looked up in the database and remembered when found.
+     *
+     * @param id Long - The ID of the user
+     * @return Optional<Boolean> - The active flag, or empty if the user does not exist
+     */
+    public Optional<Boolean> isActive(Long id) {
+        long entry = entry(id);
+        if (entry != 0) {
+            return Optional.of(isActive(entry));
+        }
+
+        return userRepository.findStatusById(id).map(this::record);
+    }
+
+    /**
+     * Returns the active flag of several users, loading every unknown ID with a single query.
+     * IDs of users that do not exist are absent from the result.
+     *
+     * @param ids Collection<Long> - The IDs of the users
+     * @return Map<Long, Boolean> - Active flag keyed by user ID
+     */
+    public Map<Long, Boolean> getStatuses(Collection<Long> ids) {
+        Map<Long, Boolean> statuses = new HashMap<>(ids.size() * 2);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            long entry = entry(id);
+            if (entry != 0) {
+                statuses.put(id, isActive(entry));
+            } else {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (UserStatusDTO status : userRepository.findStatusesByIdIn(missing)) {
+                statuses.put(status.id(), record(status));
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Records the status of a user after it was saved, unless a newer version is already indexed.
+     *
+     * @param user User - The saved user
+     */
+    public void put(User user) {
+        record(user.getId(), user.getVersion(), user.isActive());
+    }
+
+    /**
+     * Returns the number of indexed users.
+     *
+     * @return int - Number of entries
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private boolean record(UserStatusDTO status) {
+        return record(status.id(), status.version(), status.active());
+    }
+
+    /**
+     * Stores the status unless the entry already holds the same or a newer version,
+     * and returns the active flag the index holds afterwards.
+     */
+    private boolean record(Long id, Long version, boolean active) {
+        AtomicLongArray chunk = chunks.computeIfAbsent(id >>> CHUNK_BITS, key -> new AtomicLongArray(CHUNK_SIZE));
+        int slot = (int) (id & (CHUNK_SIZE - 1));
+        long entry = pack(version, active);
+        while (true) {
+            long current = chunk.get(slot);
+            if (current >>> 1 >= entry >>> 1) {
+                return isActive(current);
+            }
+            if (chunk.compareAndSet(slot, current, entry)) {
+                if (current == 0) {
+                    size.incrementAndGet();
+                }
+                return active;
+            }
+        }
+    }
+
+    private long entry(Long id) {
+        AtomicLongArray chunk = chunks.get(id >>> CHUNK_BITS);
+        return chunk == null ? 0 : chunk.get((int) (id & (CHUNK_SIZE - 1)));
+    }
+
+    /**
+     * Packs the version above the active flag, so entries compare by version. Versions are
+     * shifted up so that a missing version sorts first and 0 always means no entry.
+     */
+    private static long pack(Long version, boolean active) {
+        long order = version == null ? 1 : version + 2;
+        return order << 1 | (active ? 1 : 0);
+    }
+
+    private static boolean isActive(long entry) {
+        return (entry & 1) == 1;
+    }
+}
@@ -0,0 +1,42 @@
+package org.technoready.meliecommerce.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Configuration class that adds a fixed delay before every SQL statement.
+ * Only active with the 'latency' profile; used to compare request execution modes
+ * under slow-database conditions (see scripts/compare_virtual_threads.sh).
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Profile("latency")
+@Configuration
+public class ArtificialLatencyConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer artificialLatencyCustomizer(
+            @Value("${db.artificial-latency:20ms}") Duration latency) {
+        log.warn("Artificial database latency of {} enabled for every SQL statement", latency);
+        StatementInspector inspector = sql -> {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        };
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -32,11 +32,11 @@ public class DataInitializer {
     public void initData() {
         if (productRepository.count() == 0) {
             List<Product> products = List.of(
-                    Product.builder().name("Laptop Gamer ASUS").description("Laptop con RTX 4060 y 16GB RAM").price(28999.99).active(true).build(),
-                    Product.builder().name("iPhone 15 Pro").description("128GB, Titanio Azul").price(24999.99).active(true).build(),
-                    Product.builder().name("Audífonos Sony WH-1000XM5").description("Cancelación de ruido premium").price(7499.99).active(true).build(),
-                    Product.builder().name("Monitor LG UltraWide 34''").description("Resolución 3440x1440, HDR10").price(8999.99).active(true).build(),
-                    Product.builder().name("Teclado Mecánico Keychron K6").description("Switches Red, inalámbrico").price(1799.99).active(true).build()
+                    Product.builder().name("Laptop Gamer ASUS").description("Laptop con RTX 4060 y 16GB RAM").price(28999.99).stock(500).active(true).build(),
+                    Product.builder().name("iPhone 15 Pro").description("128GB, Titanio Azul").price(24999.99).stock(500).active(true).build(),
+                    Product.builder().name("Audífonos Sony WH-1000XM5").description("Cancelación de ruido premium").price(7499.99).stock(500).active(true).build(),
+                    Product.builder().name("Monitor LG UltraWide 34''").description("Resolución 3440x1440, HDR10").price(8999.99).stock(500).active(true).build(),
+                    Product.builder().name("Teclado Mecánico Keychron K6").description("Switches Red, inalámbrico").price(1799.99).stock(500).active(true).build()
             );
             productRepository.saveAll(products);
             log.info("✅ Initial products successfully added");
@@ -0,0 +1,29 @@
+package org.technoready.meliecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that declares the JDBC DataSource used by JPA.
+ * Spring Boot skips its DataSource auto-configuration as soon as an R2DBC ConnectionFactory
+ * exists, so with the reactive read side on the classpath the pool is declared explicitly,
+ * still bound from the spring.datasource and spring.datasource.hikari properties.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
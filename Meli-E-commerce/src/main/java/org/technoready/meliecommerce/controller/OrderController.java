@@ -1,20 +1,38 @@
 package org.technoready.meliecommerce.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.technoready.meliecommerce.dto.BulkOrderRequestDTO;
+import org.technoready.meliecommerce.dto.BulkOrderResultDTO;
 import org.technoready.meliecommerce.dto.OrderDetailsDTO;
 import org.technoready.meliecommerce.dto.OrderResponseDTO;
 import org.technoready.meliecommerce.dto.SuccessResponseDTO;
 import org.technoready.meliecommerce.entity.Order;
 import org.technoready.meliecommerce.exception.InactiveResourceException;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.service.BulkOrderService;
 import org.technoready.meliecommerce.service.OrderService;
+import org.technoready.meliecommerce.util.CursorPage;
+import org.technoready.meliecommerce.util.ETags;
 import org.technoready.meliecommerce.util.MapperUtil;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller that manages order-related operations.
@@ -33,6 +51,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new order for a specific user with the provided order details.
@@ -58,24 +78,58 @@ public class OrderController {
         );
 
         log.info("Controller: Order {} created successfully for user {}", order.getId(), userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(orderDTO.getVersion())).body(response);
     }
 
     /**
-     * Retrieves all orders or only active orders based on the activeOnly parameter.
+     * Places many orders in one request. Each entry is validated, priced and persisted
+     * independently of the others, so a bad entry does not prevent the rest from being created.
+     * Requests with more than BulkOrderService.MAX_BATCH_SIZE entries are rejected with 413.
+     *
+     * @param requests List<BulkOrderRequestDTO> - Entries with the user ID and the order details
+     * @return ResponseEntity with SuccessResponseDTO containing one BulkOrderResultDTO per entry, in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<SuccessResponseDTO<List<BulkOrderResultDTO>>> createOrders(
+            @RequestBody List<BulkOrderRequestDTO> requests) {
+        log.info("Controller: Received request to create {} orders in bulk", requests.size());
+
+        List<BulkOrderResultDTO> results = bulkOrderService.placeOrders(requests);
+        long created = results.stream().filter(BulkOrderResultDTO::isSuccess).count();
+
+        SuccessResponseDTO<List<BulkOrderResultDTO>> response = SuccessResponseDTO.of(
+                HttpStatus.OK.value(),
+                String.format("Processed %d orders: %d created, %d failed",
+                        results.size(), created, results.size() - created),
+                results
+        );
+
+        log.info("Controller: Bulk request processed, {} of {} orders created", created, results.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Retrieves one page of orders or only active orders based on the activeOnly parameter.
+     * Pages are ordered by ID; the nextCursor of the response fetches the following page.
      *
      * @param activeOnly boolean - Flag to retrieve only active orders (default: true)
-     * @return ResponseEntity with SuccessResponseDTO containing list of OrderResponseDTOs
+     * @param cursor String - Cursor returned by the previous page (optional)
+     * @param size int - Page size, capped at CursorPage.MAX_SIZE (default: 50)
+     * @return ResponseEntity with SuccessResponseDTO containing list of OrderResponseDTOs and the next cursor
      */
     @GetMapping
     public ResponseEntity<SuccessResponseDTO<List<OrderResponseDTO>>> getOrders(
-            @RequestParam(required = false, defaultValue = "true") boolean activeOnly) {
+            @RequestParam(required = false, defaultValue = "true") boolean activeOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
 
         log.info("Controller: Received request to get all orders (activeOnly: {})", activeOnly);
 
-        List<Order> orders = activeOnly
-                ? orderService.getAllActiveOrders()
-                : orderService.getAllOrders();
+        int pageSize = CursorPage.clampSize(size);
+        CursorPage<Order> page = activeOnly
+                ? orderService.getActiveOrdersPage(cursor, pageSize)
+                : orderService.getOrdersPage(cursor, pageSize);
+        List<Order> orders = page.items();
 
         List<OrderResponseDTO> orderDTOs = MapperUtil.toDTOList(orders);
 
@@ -86,13 +140,55 @@ public class OrderController {
         SuccessResponseDTO<List<OrderResponseDTO>> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
                 message,
-                orderDTOs
+                orderDTOs,
+                page.nextCursor()
         );
 
         log.info("Controller: Retrieved {} orders", orders.size());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Exports every order matching the filters as newline-delimited JSON (one OrderResponseDTO per line).
+     * Orders are streamed from a database cursor straight to the response, so memory use does not
+     * depend on the number of exported orders.
+     *
+     * @param userId Long - Only export orders of this user (optional)
+     * @param activeOnly boolean - Flag to export only active orders (default: false)
+     * @param from LocalDateTime - Inclusive lower bound of createdAt, ISO-8601 (optional)
+     * @param to LocalDateTime - Exclusive upper bound of createdAt, ISO-8601 (optional)
+     * @return ResponseEntity with a StreamingResponseBody writing application/x-ndjson
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("Controller: Received request to export orders (userId: {}, activeOnly: {})", userId, activeOnly);
+
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            long count = orderService.exportOrders(userId, activeOnly, from, to, dto -> {
+                try {
+                    writer.writeValue(out, dto);
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            log.info("Controller: Exported {} orders", count);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Retrieves all orders belonging to a specific user.
      *
@@ -110,17 +206,15 @@ public class OrderController {
 
         log.info("Controller: Received request to get orders for user {} (activeOnly: {})", userId, activeOnly);
 
-        List<Order> orders = activeOnly
+        List<OrderResponseDTO> orders = activeOnly
                 ? orderService.getOrdersByUserIdActive(userId)
                 : orderService.getOrdersByUserId(userId);
 
-        List<OrderResponseDTO> orderDTOs = MapperUtil.toDTOList(orders);
-
         message = String.format("Retrieved %d orders for user %d successfully", orders.size(), userId);
         response = SuccessResponseDTO.of(
                     HttpStatus.OK.value(),
                     message,
-                    orderDTOs);
+                    orders);
 
         log.info("Controller: Retrieved {} orders for user {}", orders.size(), userId);
         return ResponseEntity.ok(response);
@@ -130,13 +224,26 @@ public class OrderController {
      * Retrieves a specific order by its ID.
      *
      * @param id Long - The ID of the order to retrieve
-     * @return ResponseEntity with SuccessResponseDTO containing the OrderResponseDTO
+     * @param ifNoneMatch String - If-None-Match header with the ETag the client holds (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing the OrderResponseDTO,
+     *         or 304 Not Modified if the client already holds the current version
      * @throws ResourceNotFoundException if the order is not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SuccessResponseDTO<OrderResponseDTO>> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<SuccessResponseDTO<OrderResponseDTO>> getOrderById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Controller: Received request to get order {}", id);
 
+        // Only the version column is read to validate the client's copy; the order is loaded on a miss
+        if (ifNoneMatch != null) {
+            Optional<String> eTag = orderService.getOrderVersion(id).map(ETags::of);
+            if (eTag.isPresent() && ETags.matchesIfNoneMatch(ifNoneMatch, eTag.get())) {
+                log.info("Controller: Order {} not modified", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
+
         Order order = orderService.getOrderById(id)
                 .orElseThrow(() -> {
                     log.error("Controller: Order {} not found", id);
@@ -152,22 +259,26 @@ public class OrderController {
         );
 
         log.info("Controller: Order {} retrieved successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(orderDTO.getVersion())).body(response);
     }
 
     /**
      * Soft deletes (deactivates) an order by its ID.
      *
      * @param id Long - The ID of the order to delete
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
      * @return ResponseEntity with SuccessResponseDTO indicating successful deactivation
      * @throws ResourceNotFoundException if the order is not found
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<SuccessResponseDTO<Void>> deleteOrder(@PathVariable Long id) {
+    public ResponseEntity<SuccessResponseDTO<Void>> deleteOrder(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Controller: Received request to delete order {}", id);
 
-        orderService.deleteOrder(id);
+        orderService.deleteOrder(id, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<Void> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -183,18 +294,21 @@ public class OrderController {
      *
      * @param id Long - The ID of the order to update
      * @param detailsRequest List<OrderDetailsDTO> - New list of order details
-     * @return ResponseEntity with SuccessResponseDTO containing the updated OrderResponseDTO
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing the updated OrderResponseDTO and its new ETag
      * @throws ResourceNotFoundException if the order is not found
      * @throws InactiveResourceException if the order is inactive
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
     @PutMapping("/{id}")
     public ResponseEntity<SuccessResponseDTO<OrderResponseDTO>> updateOrder(
             @PathVariable Long id,
-            @RequestBody List<OrderDetailsDTO> detailsRequest) {
+            @RequestBody List<OrderDetailsDTO> detailsRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Controller: Received request to update order {}", id);
 
-        OrderResponseDTO updatedOrder = orderService.updateOrder(id, detailsRequest);
+        OrderResponseDTO updatedOrder = orderService.updateOrder(id, detailsRequest, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<OrderResponseDTO> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -203,6 +317,6 @@ public class OrderController {
         );
 
         log.info("Controller: Order {} updated successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(updatedOrder.getVersion())).body(response);
     }
 }
@@ -2,15 +2,25 @@ package org.technoready.meliecommerce.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.technoready.meliecommerce.dto.SuccessResponseDTO;
 import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InvalidQueryParameterException;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+import org.technoready.meliecommerce.service.CatalogSnapshotService;
 import org.technoready.meliecommerce.service.ProductService;
+import org.technoready.meliecommerce.util.AcceptEncoding;
+import org.technoready.meliecommerce.util.CursorPage;
+import org.technoready.meliecommerce.util.ETags;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller that manages product-related operations.
@@ -28,23 +38,83 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
     /**
-     * Retrieves all products or only active products based on the activeOnly parameter.
+     * Retrieves one page of products or only active products based on the activeOnly parameter.
+     * Pages are ordered by ID, or by price then ID when a price bound or sort=price is given;
+     * the nextCursor of the response fetches the following page.
      *
      * @param activeOnly boolean - Flag to retrieve only active products (default: true)
-     * @return ResponseEntity with SuccessResponseDTO containing list of Products
+     * @param minPrice Double - Lowest price included (optional); lists active products by price
+     * @param maxPrice Double - Highest price included (optional); lists active products by price
+     * @param sort String - "id" (default) or "price" to list active products cheapest first
+     * @param cursor String - Cursor returned by the previous page (optional)
+     * @param size int - Page size, capped at CursorPage.MAX_SIZE (default: 50)
+     * @param ifNoneMatch String - If-None-Match header with the ETag of a previous response (optional)
+     * @param acceptEncoding String - Accept-Encoding header; gzip is used for pre-encoded pages when its
+     *                       quality is above zero (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing list of Products and the next cursor,
+     *         or 304 Not Modified if no product of the page changed since the given ETag. Active pages
+     *         of the default size are written from the catalog snapshot as pre-encoded JSON bytes
      */
 
     @GetMapping
-    public ResponseEntity<SuccessResponseDTO<List<Product>>> findAll(
-            @RequestParam(required = false, defaultValue = "true") boolean activeOnly) {
+    public ResponseEntity<?> findAll(
+            @RequestParam(required = false, defaultValue = "true") boolean activeOnly,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false, defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
-        log.info("Controller: Received request to get all products (activeOnly: {})", activeOnly);
+        log.info("Controller: Received request to get all products (activeOnly: {}, minPrice: {}, maxPrice: {}, sort: {})",
+                activeOnly, minPrice, maxPrice, sort);
 
-        List<Product> products = activeOnly
-                ? productService.findAllByIsActiveTrue()
-                : productService.findAll();
+        boolean byPrice = minPrice != null || maxPrice != null || "price".equalsIgnoreCase(sort);
+        if (!byPrice && !"id".equalsIgnoreCase(sort)) {
+            throw new InvalidQueryParameterException("sort", "must be 'id' or 'price'");
+        }
+        if (byPrice && !activeOnly) {
+            throw new InvalidQueryParameterException("activeOnly", "price listings only include active products");
+        }
+
+        int pageSize = CursorPage.clampSize(size);
+        if (!byPrice) {
+            // Tagged from the IDs and versions in the database, so the page itself is only read when it changed
+            String eTag = productService.pageTag(activeOnly, cursor, pageSize);
+            if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                log.info("Controller: Products not modified since {}", eTag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+            }
+            if (activeOnly) {
+                Optional<CatalogSnapshotService.EncodedPage> snapshot =
+                        catalogSnapshotService.activePage(cursor, pageSize, eTag);
+                if (snapshot.isPresent()) {
+                    log.info("Controller: Active products page served from the catalog snapshot");
+                    return snapshotResponse(snapshot.get(), eTag, acceptEncoding);
+                }
+            }
+        }
+
+        CursorPage<Product> page;
+        if (byPrice) {
+            page = productService.findActivePageByPrice(minPrice, maxPrice, cursor, pageSize);
+        } else if (activeOnly) {
+            page = productService.findActivePage(cursor, pageSize);
+        } else {
+            page = productService.findPage(cursor, pageSize);
+        }
+        String eTag = ProductService.pageTag(page);
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            log.info("Controller: Products not modified since {}", eTag);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        List<Product> products = page.items();
 
         String message = activeOnly
                 ? String.format("Retrieved %d active products successfully", products.size())
@@ -53,10 +123,81 @@ public class ProductController {
         SuccessResponseDTO<List<Product>> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
                 message,
-                products
+                products,
+                page.nextCursor()
         );
 
         log.info("Controller: Retrieved {} products", products.size());
+        // The same URL may also be answered gzip compressed from the snapshot, so caches must key on the header
+        return ResponseEntity.ok().eTag(eTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).body(response);
+    }
+
+    /**
+     * Writes a pre-encoded catalog page, gzip compressed when the client accepts it.
+     * The gzip variant gets a weak ETag, since its bytes differ from the plain JSON.
+     */
+    private static ResponseEntity<byte[]> snapshotResponse(CatalogSnapshotService.EncodedPage page,
+                                                          String eTag, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (AcceptEncoding.acceptsGzip(acceptEncoding)) {
+            return response.eTag("W/" + eTag)
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(page.gzip());
+        }
+        return response.eTag(eTag).body(page.json());
+    }
+
+    /**
+     * Searches active products by name and description.
+     * Accents and case are ignored, and results are ranked by relevance (BM25).
+     *
+     * @param q String - Free-text query
+     * @param limit int - Maximum number of results, capped at ProductService.MAX_SEARCH_RESULTS (default: 20)
+     * @return ResponseEntity with SuccessResponseDTO containing the matching Products, most relevant first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SuccessResponseDTO<List<Product>>> search(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        log.info("Controller: Received request to search products");
+
+        List<Product> products = productService.search(q, limit);
+
+        SuccessResponseDTO<List<Product>> response = SuccessResponseDTO.of(
+                HttpStatus.OK.value(),
+                String.format("Found %d products", products.size()),
+                products
+        );
+
+        log.info("Controller: Search returned {} products", products.size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Suggests active products for a search box prefix, most ordered first.
+     * Accents and case are ignored, and any word of the name can start the match.
+     *
+     * @param q String - What the user typed so far
+     * @param limit int - Maximum number of suggestions, capped at ProductAutocompleteIndex.MAX_SUGGESTIONS (default: 10)
+     * @return ResponseEntity with SuccessResponseDTO containing the suggested product IDs and names
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<SuccessResponseDTO<List<ProductAutocompleteIndex.Suggestion>>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+        log.info("Controller: Received request to autocomplete products");
+
+        List<ProductAutocompleteIndex.Suggestion> suggestions = productService.autocomplete(q, limit);
+
+        SuccessResponseDTO<List<ProductAutocompleteIndex.Suggestion>> response = SuccessResponseDTO.of(
+                HttpStatus.OK.value(),
+                String.format("Found %d suggestions", suggestions.size()),
+                suggestions
+        );
+
+        log.info("Controller: Autocomplete returned {} suggestions", suggestions.size());
         return ResponseEntity.ok(response);
     }
 
@@ -64,14 +205,23 @@ public class ProductController {
      * Retrieves a specific product by its ID.
      *
      * @param id long - The ID of the product to retrieve
-     * @return ResponseEntity with SuccessResponseDTO containing the Product
+     * @param ifNoneMatch String - If-None-Match header with the ETag the client holds (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing the Product,
+     *         or 304 Not Modified if the client already holds the current version
      * @throws ResourceNotFoundException if the product is not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SuccessResponseDTO<Product>> findById(@PathVariable long id) {
+    public ResponseEntity<SuccessResponseDTO<Product>> findById(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Controller: Received request to get product {}", id);
 
         Product product = productService.findById(id);
+        String eTag = ETags.of(product.getVersion());
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+            log.info("Controller: Product {} not modified", id);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
 
         SuccessResponseDTO<Product> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -80,21 +230,25 @@ public class ProductController {
         );
 
         log.info("Controller: Product {} retrieved successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     /**
      * Soft deletes (deactivates) a product by its ID.
      *
      * @param id Long - The ID of the product to delete
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
      * @return ResponseEntity with SuccessResponseDTO indicating successful deactivation
      * @throws ResourceNotFoundException if the product is not found
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<SuccessResponseDTO<Void>> delete(@PathVariable Long id) {
+    public ResponseEntity<SuccessResponseDTO<Void>> delete(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Controller: Received request to delete product {}", id);
 
-        productService.delete(id);
+        productService.delete(id, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<Void> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -125,7 +279,7 @@ public class ProductController {
         );
 
         log.info("Controller: Product {} created successfully", savedProduct.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(savedProduct.getVersion())).body(response);
     }
 
     /**
@@ -133,17 +287,20 @@ public class ProductController {
      *
      * @param id Long - The ID of the product to update
      * @param product Product - The product object with updated information
-     * @return ResponseEntity with SuccessResponseDTO containing the updated Product
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing the updated Product and its new ETag
      * @throws ResourceNotFoundException if the product is not found
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
     @PutMapping("/{id}")
     public ResponseEntity<SuccessResponseDTO<Product>> update(
             @PathVariable Long id,
-            @RequestBody Product product) {
+            @RequestBody Product product,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Controller: Received request to update product {}", id);
 
-        Product updatedProduct = productService.update(product, id);
+        Product updatedProduct = productService.update(product, id, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<Product> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -152,7 +309,7 @@ public class ProductController {
         );
 
         log.info("Controller: Product {} updated successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(updatedProduct.getVersion())).body(response);
     }
 
 }
@@ -0,0 +1,132 @@
+package org.technoready.meliecommerce.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.dto.ProductDTO;
+import org.technoready.meliecommerce.dto.SuccessResponseDTO;
+import org.technoready.meliecommerce.dto.UserDTO;
+import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.service.ReactiveReadService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller that serves the non-blocking read side of products, users and orders.
+ * Collections are streamed as newline-delimited JSON (one object per line) with backpressure:
+ * the next rows are only requested from the database once the previous ones were written.
+ * The request thread is released while the query runs, so these reads do not hold a
+ * servlet thread. Writes stay on the regular /api endpoints.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+
+@RestController
+@RequestMapping("/api/reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    /**
+     * Streams all products or only active products, ordered by ID.
+     *
+     * @param activeOnly boolean - Flag to stream only active products (default: true)
+     * @return Flux<ProductDTO> - The products as newline-delimited JSON
+     */
+    @GetMapping(value = "/products", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductDTO> streamProducts(
+            @RequestParam(required = false, defaultValue = "true") boolean activeOnly) {
+        log.info("Controller: Received request to stream products (activeOnly: {})", activeOnly);
+        return reactiveReadService.findProducts(activeOnly);
+    }
+
+    /**
+     * Retrieves a specific product by its ID.
+     *
+     * @param id Long - The ID of the product to retrieve
+     * @return Mono with SuccessResponseDTO containing the ProductDTO
+     * @throws ResourceNotFoundException if the product is not found
+     */
+    @GetMapping("/products/{id}")
+    public Mono<SuccessResponseDTO<ProductDTO>> findProductById(@PathVariable Long id) {
+        log.info("Controller: Received request to get product {} reactively", id);
+        return reactiveReadService.findProductById(id)
+                .map(product -> SuccessResponseDTO.of(
+                        HttpStatus.OK.value(),
+                        String.format("Product %d retrieved successfully", id),
+                        product));
+    }
+
+    /**
+     * Streams all users or only active users, ordered by ID.
+     *
+     * @param activeOnly boolean - Flag to stream only active users (default: true)
+     * @return Flux<UserDTO> - The users as newline-delimited JSON
+     */
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserDTO> streamUsers(
+            @RequestParam(required = false, defaultValue = "true") boolean activeOnly) {
+        log.info("Controller: Received request to stream users (activeOnly: {})", activeOnly);
+        return reactiveReadService.findUsers(activeOnly);
+    }
+
+    /**
+     * Retrieves a specific user by its ID.
+     *
+     * @param id Long - The ID of the user to retrieve
+     * @return Mono with SuccessResponseDTO containing the UserDTO
+     * @throws ResourceNotFoundException if the user is not found
+     */
+    @GetMapping("/users/{id}")
+    public Mono<SuccessResponseDTO<UserDTO>> findUserById(@PathVariable Long id) {
+        log.info("Controller: Received request to get user {} reactively", id);
+        return reactiveReadService.findUserById(id)
+                .map(user -> SuccessResponseDTO.of(
+                        HttpStatus.OK.value(),
+                        String.format("User %d retrieved successfully", id),
+                        user));
+    }
+
+    /**
+     * Streams the orders of a user with their details, ordered by ID.
+     *
+     * @param userId Long - The ID of the user whose orders to stream
+     * @param activeOnly boolean - Flag to stream only active orders (default: true)
+     * @return Flux<OrderResponseDTO> - The orders as newline-delimited JSON
+     */
+    @GetMapping(value = "/orders/user/{userId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponseDTO> streamOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false, defaultValue = "true") boolean activeOnly) {
+        log.info("Controller: Received request to stream orders of user {} (activeOnly: {})", userId, activeOnly);
+        return reactiveReadService.findOrdersByUserId(userId, activeOnly);
+    }
+
+    /**
+     * Retrieves a specific order by its ID.
+     *
+     * @param id Long - The ID of the order to retrieve
+     * @return Mono with SuccessResponseDTO containing the OrderResponseDTO
+     * @throws ResourceNotFoundException if the order is not found
+     */
+    @GetMapping("/orders/{id}")
+    public Mono<SuccessResponseDTO<OrderResponseDTO>> findOrderById(@PathVariable Long id) {
+        log.info("Controller: Received request to get order {} reactively", id);
+        return reactiveReadService.findOrderById(id)
+                .map(order -> SuccessResponseDTO.of(
+                        HttpStatus.OK.value(),
+                        String.format("Order %d retrieved successfully", id),
+                        order));
+    }
+}
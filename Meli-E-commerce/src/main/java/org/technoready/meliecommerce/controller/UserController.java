@@ -2,13 +2,17 @@ package org.technoready.meliecommerce.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.technoready.meliecommerce.dto.SuccessResponseDTO;
 import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
 import org.technoready.meliecommerce.service.UserService;
+import org.technoready.meliecommerce.util.CursorPage;
+import org.technoready.meliecommerce.util.ETags;
 
 import java.util.List;
 
@@ -30,20 +34,27 @@ public class UserController {
     private final UserService userService;
 
     /**
-     * Retrieves all users or only active users based on the activeOnly parameter.
+     * Retrieves one page of users or only active users based on the activeOnly parameter.
+     * Pages are ordered by ID; the nextCursor of the response fetches the following page.
      *
      * @param activeOnly boolean - Flag to retrieve only active users (default: false)
-     * @return ResponseEntity with SuccessResponseDTO containing list of Users
+     * @param cursor String - Cursor returned by the previous page (optional)
+     * @param size int - Page size, capped at CursorPage.MAX_SIZE (default: 50)
+     * @return ResponseEntity with SuccessResponseDTO containing list of Users and the next cursor
      */
     @GetMapping
     public ResponseEntity<SuccessResponseDTO<List<User>>> findAll(
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "" + CursorPage.DEFAULT_SIZE) int size) {
 
         log.info("Controller: Received request to get all users (activeOnly: {})", activeOnly);
 
-        List<User> users = activeOnly
-                ? userService.findAllIsActive()
-                : userService.findAll();
+        int pageSize = CursorPage.clampSize(size);
+        CursorPage<User> page = activeOnly
+                ? userService.findActivePage(cursor, pageSize)
+                : userService.findPage(cursor, pageSize);
+        List<User> users = page.items();
 
         String message = activeOnly
                 ? String.format("Retrieved %d active users successfully", users.size())
@@ -52,7 +63,8 @@ public class UserController {
         SuccessResponseDTO<List<User>> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
                 message,
-                users
+                users,
+                page.nextCursor()
         );
 
         log.info("Controller: Retrieved {} users", users.size());
@@ -79,7 +91,7 @@ public class UserController {
         );
 
         log.info("Controller: User {} retrieved successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(user.getVersion())).body(response);
     }
 
     /**
@@ -102,21 +114,25 @@ public class UserController {
         );
 
         log.info("Controller: User {} created successfully", savedUser.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(savedUser.getVersion())).body(response);
     }
 
     /**
      * Soft deletes (deactivates) a user by their ID.
      *
      * @param id long - The ID of the user to delete
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
      * @return ResponseEntity with SuccessResponseDTO indicating successful deactivation
      * @throws ResourceNotFoundException if the user is not found
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<SuccessResponseDTO<Void>> delete(@PathVariable long id) {
+    public ResponseEntity<SuccessResponseDTO<Void>> delete(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Controller: Received request to delete user {}", id);
 
-        userService.delete(id);
+        userService.delete(id, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<Void> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -132,17 +148,20 @@ public class UserController {
      *
      * @param user User - The user object with updated information
      * @param id long - The ID of the user to update
-     * @return ResponseEntity with SuccessResponseDTO containing the updated User
+     * @param ifMatch String - If-Match header with the ETag the client last saw (optional)
+     * @return ResponseEntity with SuccessResponseDTO containing the updated User and its new ETag
      * @throws ResourceNotFoundException if the user is not found
+     * @throws PreconditionFailedException if If-Match does not match the current version
      */
     @PutMapping("/{id}")
     public ResponseEntity<SuccessResponseDTO<User>> update(
             @RequestBody User user,
-            @PathVariable long id) {
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         log.info("Controller: Received request to update user {}", id);
 
-        User updatedUser = userService.update(user, id);
+        User updatedUser = userService.update(user, id, ETags.parseIfMatch(ifMatch));
 
         SuccessResponseDTO<User> response = SuccessResponseDTO.of(
                 HttpStatus.OK.value(),
@@ -151,7 +170,7 @@ public class UserController {
         );
 
         log.info("Controller: User {} updated successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ETags.of(updatedUser.getVersion())).body(response);
     }
 
 
@@ -0,0 +1,15 @@
+package org.technoready.meliecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+public class BulkOrderRequestDTO {
+    private Long userId;
+    private List<OrderDetailsDTO> details;
+}
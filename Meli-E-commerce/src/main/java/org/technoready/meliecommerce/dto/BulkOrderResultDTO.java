@@ -0,0 +1,17 @@
+package org.technoready.meliecommerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResultDTO {
+    private int index;
+    private Long userId;
+    private boolean success;
+    private Long orderId;
+    private Double total;
+    private String error;
+}
@@ -0,0 +1,27 @@
+package org.technoready.meliecommerce.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection row holding one order line together with its order header.
+ * Built directly by JPQL constructor expressions, or from R2DBC rows on the reactive read side,
+ * so no entity is hydrated or tracked.
+ * Detail fields are null for an order without lines.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public record OrderLineRowDTO(
+        Long orderId,
+        Long userId,
+        LocalDateTime createdAt,
+        double total,
+        boolean active,
+        Long version,
+        Long productId,
+        String productName,
+        String descriptionSnap,
+        Integer quantity,
+        Double unitPrice) {
+}
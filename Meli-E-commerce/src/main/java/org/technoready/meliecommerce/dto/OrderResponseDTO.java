@@ -15,4 +15,5 @@ public class OrderResponseDTO {
     private double total;
     private List<OrderDetailsResponseDTO> details;
     private boolean active;
+    private Long version;
 }
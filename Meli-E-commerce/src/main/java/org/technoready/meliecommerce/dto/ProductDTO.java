@@ -16,6 +16,7 @@ public class ProductDTO {
     private String name;
     private String description;
     private Double price;
+    private Integer stock;
     private LocalTime created_at;
     private boolean active;
 }
@@ -0,0 +1,12 @@
+package org.technoready.meliecommerce.dto;
+
+/**
+ * Projection row with the units of a product across orders.
+ * Built directly by a JPQL constructor expression, so no entity is hydrated.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public record ProductUnitsDTO(Long productId, Long units) {
+}
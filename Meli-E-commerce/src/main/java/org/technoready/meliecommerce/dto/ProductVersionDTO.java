@@ -0,0 +1,17 @@
+package org.technoready.meliecommerce.dto;
+
+import org.technoready.meliecommerce.entity.Product;
+
+/**
+ * Projection of a product's ID and optimistic lock version, used to tag product list pages.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public record ProductVersionDTO(Long id, Long version) {
+
+    public static ProductVersionDTO of(Product product) {
+        return new ProductVersionDTO(product.getId(), product.getVersion());
+    }
+}
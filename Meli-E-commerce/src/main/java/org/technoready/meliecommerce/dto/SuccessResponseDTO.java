@@ -27,6 +27,7 @@ public class SuccessResponseDTO<T> {
     private int status;
     private String message;
     private T data;
+    private String nextCursor;
 
 
     public static <T> SuccessResponseDTO<T> of(int status, String message, T data) {
@@ -38,6 +39,16 @@ public class SuccessResponseDTO<T> {
                 .build();
     }
 
+    public static <T> SuccessResponseDTO<T> of(int status, String message, T data, String nextCursor) {
+        return SuccessResponseDTO.<T>builder()
+                .timestamp(LocalDateTime.now())
+                .status(status)
+                .message(message)
+                .data(data)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     public static <T> SuccessResponseDTO<T> of(int status, String message) {
         return SuccessResponseDTO.<T>builder()
                 .timestamp(LocalDateTime.now())
@@ -0,0 +1,11 @@
+package org.technoready.meliecommerce.dto;
+
+/**
+ * Projection of a user's ID, active flag and version, read by the user status index on a miss.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public record UserStatusDTO(Long id, boolean active, Long version) {
+}
@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Builder
@@ -14,19 +16,32 @@ import lombok.NoArgsConstructor;
 @Table(name = "order_details")
 @Data
 public class OrderDetails {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_details_seq")
+    @SequenceGenerator(name = "order_details_seq", sequenceName = "order_details_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // Lazy references are left out of equals, hashCode and toString: Hibernate hashes the lines when
+    // it checks the details collection on flush, and that must not load every referenced product
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Order order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Product product;
 
     private String productName;
     private String descriptionSnap;
     private int quantity;
     private Double unitPrice;
+
+    // Whether the product tracks stock, known when the line was priced; the product itself is only a
+    // reference then. Null for lines loaded from the database
+    @Transient
+    private Boolean stockTracked;
 }
@@ -1,5 +1,6 @@
 package org.technoready.meliecommerce.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,16 +19,25 @@ import java.time.LocalTime;
 @Table(name = "products")
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     private String name;
     private String description;
     private Double price;
 
+    // Units available for sale; null means stock is not tracked for this product
+    private Integer stock;
+
     @CreationTimestamp
     private LocalTime created_at;
 
     @Column(name = "is_active", nullable = false)
     private boolean active = true;
 
+    // Optimistic lock version, exposed to clients as the ETag and ignored on input
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
 }
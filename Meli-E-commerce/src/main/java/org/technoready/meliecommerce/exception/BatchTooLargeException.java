@@ -0,0 +1,23 @@
+package org.technoready.meliecommerce.exception;
+
+/**
+ * Exception thrown when a bulk request carries more entries than a single request may place.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    private final int maxSize;
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super(String.format("Batch of %d entries exceeds the maximum of %d per request", size, maxSize));
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+}
@@ -1,15 +1,20 @@
 package org.technoready.meliecommerce.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.technoready.meliecommerce.dto.ErrorResponseDTO;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,9 +29,13 @@ import java.util.List;
  */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
-    // Methods handle: ResourceNotFoundException, InactiveResourceException,
-    // MethodArgumentNotValidException, MethodArgumentTypeMismatchException, General Exceptions
+    // Methods handle: ResourceNotFoundException, InactiveResourceException, UnavailableProductsException,
+    // InsufficientStockException, PreconditionFailedException, OptimisticLockingFailureException, InvalidCursorException, InvalidQueryParameterException, InvalidQuantityException, BatchTooLargeException, MethodArgumentNotValidException, MethodArgumentTypeMismatchException, MissingServletRequestParameterException, General Exceptions
+    // Not-found, inactive, unavailable-product, insufficient-stock and version-conflict errors are also counted in ecommerce.errors
+
+    private final ECommerceMetrics metrics;
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(
@@ -34,6 +43,7 @@ public class GlobalExceptionHandler {
             HttpServletRequest request) {
 
         log.error("Resource not found: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+        metrics.error("not_found", ex.getResourceName());
 
         ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
                 HttpStatus.NOT_FOUND.value(),
@@ -52,6 +62,7 @@ public class GlobalExceptionHandler {
 
         log.warn("Inactive resource operation attempted: {} - Request path: {}",
                 ex.getMessage(), request.getRequestURI());
+        metrics.error("inactive", ex.getResourceName());
 
         ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
                 HttpStatus.BAD_REQUEST.value(),
@@ -63,6 +74,167 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(UnavailableProductsException.class)
+    public ResponseEntity<ErrorResponseDTO> handleUnavailableProductsException(
+            UnavailableProductsException ex,
+            HttpServletRequest request) {
+
+        List<String> details = new ArrayList<>();
+        for (Long id : ex.getMissingIds()) {
+            details.add("Product not found with id: " + id);
+        }
+        for (Long id : ex.getInactiveIds()) {
+            details.add("Product is inactive with id: " + id);
+        }
+
+        HttpStatus status = ex.getMissingIds().isEmpty() ? HttpStatus.BAD_REQUEST : HttpStatus.NOT_FOUND;
+
+        log.warn("Unavailable products in order - Request path: {} - Details: {}",
+                request.getRequestURI(), details);
+        metrics.error("unavailable_products", "Product");
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                status.value(),
+                status.getReasonPhrase(),
+                ex.getMessage(),
+                request.getRequestURI(),
+                details
+        );
+
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInsufficientStockException(
+            InsufficientStockException ex,
+            HttpServletRequest request) {
+
+        List<String> details = new ArrayList<>();
+        for (Long id : ex.getProductIds()) {
+            details.add("Insufficient stock for product with id: " + id);
+        }
+
+        log.warn("Insufficient stock - Request path: {} - Details: {}", request.getRequestURI(), details);
+        metrics.error("insufficient_stock", "Product");
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                ex.getMessage(),
+                request.getRequestURI(),
+                details
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePreconditionFailedException(
+            PreconditionFailedException ex,
+            HttpServletRequest request) {
+
+        log.warn("Precondition failed: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+
+        String resourceName = ex instanceof ObjectOptimisticLockingFailureException objectEx
+                ? objectEx.getPersistentClassName().substring(objectEx.getPersistentClassName().lastIndexOf('.') + 1)
+                : "Unknown";
+
+        log.warn("Concurrent modification of {} - Request path: {}", resourceName, request.getRequestURI());
+        metrics.error("version_conflict", resourceName);
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                String.format("%s was modified concurrently, fetch it again and retry", resourceName),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursorException(
+            InvalidCursorException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid cursor: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidQueryParameterException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidQueryParameterException(
+            InvalidQueryParameterException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid query parameter: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidQuantityException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidQuantityException(
+            InvalidQuantityException ex,
+            HttpServletRequest request) {
+
+        log.warn("Invalid quantity: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponseDTO> handleBatchTooLargeException(
+            BatchTooLargeException ex,
+            HttpServletRequest request) {
+
+        log.warn("Batch too large: {} - Request path: {}", ex.getMessage(), request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.PAYLOAD_TOO_LARGE.value(),
+                "Payload Too Large",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationException(
             MethodArgumentNotValidException ex,
@@ -109,6 +281,25 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponseDTO> handleMissingParameterException(
+            MissingServletRequestParameterException ex,
+            HttpServletRequest request) {
+
+        String message = String.format("Missing required parameter '%s'", ex.getParameterName());
+
+        log.error("Missing parameter: {} - Request path: {}", message, request.getRequestURI());
+
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.of(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                message,
+                request.getRequestURI()
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleGlobalException(
             Exception ex,
@@ -0,0 +1,26 @@
+package org.technoready.meliecommerce.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an order asks for more units than a product has in stock.
+ * Collects every product that could not be reserved so the client receives them all in a single error.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    private final List<Long> productIds;
+
+    public InsufficientStockException(List<Long> productIds) {
+        super(String.format("Insufficient stock for products: %s", productIds));
+        this.productIds = productIds;
+    }
+
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.technoready.meliecommerce.exception;
+
+/**
+ * Exception thrown when a pagination cursor token cannot be decoded.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super(String.format("Invalid pagination cursor: '%s'", cursor));
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+}
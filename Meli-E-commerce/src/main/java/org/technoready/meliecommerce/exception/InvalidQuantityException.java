@@ -0,0 +1,23 @@
+package org.technoready.meliecommerce.exception;
+
+/**
+ * Exception thrown when an order line asks for zero or a negative quantity of a product.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class InvalidQuantityException extends RuntimeException {
+
+    private final Long productId;
+
+    public InvalidQuantityException(Long productId, int quantity) {
+        super(String.format("Quantity for product %d must be greater than zero, got %d", productId, quantity));
+        this.productId = productId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+}
@@ -0,0 +1,24 @@
+package org.technoready.meliecommerce.exception;
+
+/**
+ * Exception thrown when a query parameter has a value, or a combination with other parameters,
+ * that the endpoint cannot serve.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class InvalidQueryParameterException extends RuntimeException {
+
+    private final String parameter;
+
+    public InvalidQueryParameterException(String parameter, String reason) {
+        super(String.format("Invalid value for parameter '%s': %s", parameter, reason));
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.technoready.meliecommerce.exception;
+
+/**
+ * Exception thrown when a conditional write carries an If-Match that does not match the current
+ * version of the resource, i.e. the client is about to overwrite changes it has not seen.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String resourceName, Object resourceId, Long currentVersion) {
+        super(String.format("If-Match does not match the current version of %s with id: '%s' (current ETag: \"%s\")",
+                resourceName, resourceId, currentVersion));
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.technoready.meliecommerce.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when an order references products that do not exist or are inactive.
+ * Collects every offending product ID so the client receives them all in a single error.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class UnavailableProductsException extends RuntimeException {
+
+    private final List<Long> missingIds;
+    private final List<Long> inactiveIds;
+
+    public UnavailableProductsException(List<Long> missingIds, List<Long> inactiveIds) {
+        super(String.format("Order contains unavailable products (not found: %s, inactive: %s)", missingIds, inactiveIds));
+        this.missingIds = missingIds;
+        this.inactiveIds = inactiveIds;
+    }
+
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    public List<Long> getInactiveIds() {
+        return inactiveIds;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.technoready.meliecommerce.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback AsyncAppender that counts the events it drops. Events are handed to a bounded queue
+ * and written by a single worker thread, so file and console I/O stay off the request threads.
+ * Once the queue is 80% full, INFO and lower events are discarded; with neverBlock a full queue
+ * drops even warnings instead of stalling the caller. Both cases are counted here and published
+ * by ECommerceMetrics.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder QUEUE_FULL = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            DISCARDED.increment();
+            return;
+        }
+        // Checked before the offer, so a worker draining in between can make this an overcount
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            QUEUE_FULL.increment();
+        }
+        super.append(event);
+    }
+
+    /**
+     * Returns the INFO and lower events discarded because the queue was nearly full.
+     *
+     * @return long - Discarded events since startup, across every metered appender
+     */
+    public static long discardedCount() {
+        return DISCARDED.sum();
+    }
+
+    /**
+     * Returns the events dropped because the queue was full.
+     *
+     * @return long - Dropped events since startup, across every metered appender
+     */
+    public static long queueFullCount() {
+        return QUEUE_FULL.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package org.technoready.meliecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback turbo filter that keeps one of every N INFO events per message template for the
+ * configured logger prefixes. Every controller and service method logs with its own constant
+ * template, so this samples the success path of each endpoint independently, and the first
+ * call of each one is always logged. Warnings, errors and events carrying an exception are
+ * never sampled. Turbo filters run before the logging event is created, so a sampled-out call
+ * allocates nothing.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public class SuccessLogSampler extends TurboFilter {
+
+    // Templates are string constants, so this only matters if a dynamic message slips in
+    private static final int MAX_TEMPLATES = 1024;
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final Map<String, AtomicLong> callsByTemplate = new ConcurrentHashMap<>();
+    private int sampleEvery = 1;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (sampleEvery <= 1 || format == null || level != Level.INFO || t != null || !matches(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong calls = callsByTemplate.get(format);
+        if (calls == null) {
+            if (callsByTemplate.size() >= MAX_TEMPLATES) {
+                return FilterReply.NEUTRAL;
+            }
+            calls = callsByTemplate.computeIfAbsent(format, key -> new AtomicLong());
+        }
+        if (calls.getAndIncrement() % sampleEvery == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.increment();
+        return FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a logger name prefix whose INFO events are sampled (one loggerPrefix element each).
+     *
+     * @param loggerPrefix String - Logger name prefix, usually a package
+     */
+    public void addLoggerPrefix(String loggerPrefix) {
+        loggerPrefixes.add(loggerPrefix);
+    }
+
+    /**
+     * Sets how many INFO events of each template share one logged event (1 logs everything).
+     *
+     * @param sampleEvery int - Sampling period
+     */
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Returns the INFO events skipped by sampling.
+     *
+     * @return long - Sampled-out events since startup
+     */
+    public static long sampledOutCount() {
+        return SAMPLED_OUT.sum();
+    }
+}
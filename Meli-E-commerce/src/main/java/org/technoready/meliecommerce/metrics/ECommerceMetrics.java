@@ -0,0 +1,138 @@
+package org.technoready.meliecommerce.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.logging.MeteredAsyncAppender;
+import org.technoready.meliecommerce.logging.SuccessLogSampler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Business counters published through Micrometer (and scraped at /actuator/prometheus).
+ * Every tag takes a small, fixed set of values so the number of time series stays bounded:
+ * never tag with IDs, emails or other request data.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Component
+public class ECommerceMetrics {
+
+    public static final String SERVICE_TIMER = "ecommerce.service";
+
+    private static final String ORDERS_PLACED = "ecommerce.orders.placed";
+    private static final String LINES_PRICED = "ecommerce.order.lines.priced";
+    private static final String ERRORS = "ecommerce.errors";
+    private static final String LOG_EVENTS_DROPPED = "ecommerce.logging.events.dropped";
+    private static final String OUTBOX_PUBLISHED = "ecommerce.outbox.events.published";
+    private static final String OUTBOX_FAILURES = "ecommerce.outbox.publish.failures";
+    private static final String OUTBOX_PENDING = "ecommerce.outbox.events.pending";
+    private static final String OUTBOX_LAG = "ecommerce.outbox.lag";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter singleOrdersCreated;
+    private final Counter bulkOrdersCreated;
+    private final Counter linesPriced;
+    private final Counter outboxPublished;
+    private final Counter outboxPublishFailures;
+    private final AtomicLong outboxPending = new AtomicLong();
+    private final AtomicLong outboxLagMillis = new AtomicLong();
+
+    public ECommerceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.singleOrdersCreated = Counter.builder(ORDERS_PLACED).tag("source", "single")
+                .description("Orders persisted").register(meterRegistry);
+        this.bulkOrdersCreated = Counter.builder(ORDERS_PLACED).tag("source", "bulk")
+                .description("Orders persisted").register(meterRegistry);
+        this.linesPriced = Counter.builder(LINES_PRICED)
+                .description("Order lines priced for created or updated orders").register(meterRegistry);
+        this.outboxPublished = Counter.builder(OUTBOX_PUBLISHED)
+                .description("Order events delivered to the event sink").register(meterRegistry);
+        this.outboxPublishFailures = Counter.builder(OUTBOX_FAILURES)
+                .description("Batches of order events the event sink rejected").register(meterRegistry);
+        Gauge.builder(OUTBOX_PENDING, outboxPending, AtomicLong::get)
+                .description("Order events written but not yet delivered, as of the last relay run")
+                .register(meterRegistry);
+        TimeGauge.builder(OUTBOX_LAG, outboxLagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest order event not yet delivered, as of the last relay run")
+                .register(meterRegistry);
+        logEventsDropped(meterRegistry, "sampled", SuccessLogSampler::sampledOutCount);
+        logEventsDropped(meterRegistry, "discarded", MeteredAsyncAppender::discardedCount);
+        logEventsDropped(meterRegistry, "queue_full", MeteredAsyncAppender::queueFullCount);
+    }
+
+    private static void logEventsDropped(MeterRegistry meterRegistry, String reason, LongSupplier count) {
+        FunctionCounter.builder(LOG_EVENTS_DROPPED, count, LongSupplier::getAsLong).tag("reason", reason)
+                .description("Log events not written by the asynchronous logging pipeline").register(meterRegistry);
+    }
+
+    /**
+     * Counts an order created through the single-order endpoint.
+     */
+    public void orderCreated() {
+        singleOrdersCreated.increment();
+    }
+
+    /**
+     * Counts orders created by one bulk request.
+     *
+     * @param count long - Number of orders persisted
+     */
+    public void bulkOrdersCreated(long count) {
+        bulkOrdersCreated.increment(count);
+    }
+
+    /**
+     * Counts priced order lines, after repeated products have been merged.
+     *
+     * @param count int - Number of lines priced
+     */
+    public void linesPriced(int count) {
+        linesPriced.increment(count);
+    }
+
+    /**
+     * Counts order events delivered by the outbox relay.
+     *
+     * @param count int - Number of events in the delivered batch
+     */
+    public void outboxPublished(int count) {
+        outboxPublished.increment(count);
+    }
+
+    /**
+     * Counts a batch of order events the event sink failed to take.
+     */
+    public void outboxPublishFailed() {
+        outboxPublishFailures.increment();
+    }
+
+    /**
+     * Records the outbox backlog left after a relay run.
+     *
+     * @param pending long - Events not yet delivered
+     * @param lag Duration - Age of the oldest of them, zero when there are none
+     */
+    public void outboxBacklog(long pending, Duration lag) {
+        outboxPending.set(pending);
+        outboxLagMillis.set(lag.toMillis());
+    }
+
+    /**
+     * Counts a client error raised to the exception handler.
+     *
+     * @param type String - Error kind: not_found, inactive, unavailable_products, insufficient_stock or version_conflict
+     * @param resource String - Resource the error refers to (User, Product, Order)
+     */
+    public void error(String type, String resource) {
+        meterRegistry.counter(ERRORS, "type", type, "resource", resource).increment();
+    }
+}
@@ -0,0 +1,140 @@
+package org.technoready.meliecommerce.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Order event sink that appends events as JSON lines to a local file, standing in for a broker.
+ * A batch is written with a single write and forced to disk before publish returns, so the relay
+ * only deletes events that are on disk. A write that fails halfway is truncated away, so the file
+ * only ever holds whole lines. When the file would grow past max-size it is renamed with a
+ * timestamp suffix and a new one is started, keeping the newest max-history rolled files.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOrderEventSink implements OrderEventSink {
+
+    private static final DateTimeFormatter ROLLED_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final ObjectWriter writer;
+    private final Path path;
+    private final long maxSize;
+    private final int maxHistory;
+
+    private FileChannel channel;
+
+    public FileOrderEventSink(ObjectMapper objectMapper,
+                              @Value("${outbox.file.path:outbox/order-events.jsonl}") Path path,
+                              @Value("${outbox.file.max-size:10MB}") DataSize maxSize,
+                              @Value("${outbox.file.max-history:10}") int maxHistory) {
+        this.writer = objectMapper.writerFor(OrderEvent.class);
+        this.path = path.toAbsolutePath();
+        this.maxSize = maxSize.toBytes();
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public synchronized void publish(List<OrderEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 512);
+        for (OrderEvent event : events) {
+            lines.write(writer.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+
+        FileChannel out = open();
+        if (out.size() > 0 && out.size() + lines.size() > maxSize) {
+            roll();
+            out = open();
+        }
+        long start = out.size();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(false);
+        } catch (IOException ex) {
+            discardPartialWrite(out, start);
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes the current file on shutdown.
+     */
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void roll() throws IOException {
+        close();
+        Path rolled = path.resolveSibling(path.getFileName() + "." + LocalDateTime.now().format(ROLLED_SUFFIX));
+        Files.move(path, rolled);
+        log.info("Order events file rolled to {}", rolled.getFileName());
+
+        String prefix = path.getFileName() + ".";
+        List<Path> history;
+        try (Stream<Path> siblings = Files.list(path.getParent())) {
+            history = new ArrayList<>(siblings
+                    .filter(sibling -> sibling.getFileName().toString().startsWith(prefix))
+                    .sorted(Comparator.comparing(Path::getFileName).reversed())
+                    .toList());
+        }
+        for (Path old : history.subList(Math.min(maxHistory, history.size()), history.size())) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private void discardPartialWrite(FileChannel out, long size) {
+        try {
+            out.truncate(size);
+        } catch (IOException ex) {
+            log.error("Could not truncate a partial write of {}, closing it: {}", path, ex.getMessage());
+            try {
+                close();
+            } catch (IOException ignored) {
+                // The next publish reopens the file
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.technoready.meliecommerce.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Order event sink that keeps every published event in memory, for tests.
+ * It can be made unavailable to check that the relay keeps failed batches in the outbox.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOrderEventSink implements OrderEventSink {
+
+    private final List<OrderEvent> events = new ArrayList<>();
+    private boolean available = true;
+
+    @Override
+    public synchronized void publish(List<OrderEvent> batch) throws IOException {
+        if (!available) {
+            throw new IOException("In-memory order event sink is unavailable");
+        }
+        events.addAll(batch);
+    }
+
+    /**
+     * Returns every event published so far, in publish order.
+     *
+     * @return List<OrderEvent> - Copy of the published events
+     */
+    public synchronized List<OrderEvent> events() {
+        return List.copyOf(events);
+    }
+
+    /**
+     * Makes publish fail (false) or succeed again (true).
+     *
+     * @param available boolean - Whether batches are accepted
+     */
+    public synchronized void setAvailable(boolean available) {
+        this.available = available;
+    }
+}
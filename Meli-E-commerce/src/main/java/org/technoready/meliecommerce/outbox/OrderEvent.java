@@ -0,0 +1,29 @@
+package org.technoready.meliecommerce.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * An order change as handed to an OrderEventSink.
+ * The ID is unique per event, so consumers can drop redeliveries by ID; the order version in the
+ * payload orders the events of one order even when they come from different instances.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ * @param id long - ID of the outbox row
+ * @param type OrderOutboxEvent.Type - What happened to the order
+ * @param orderId long - ID of the order
+ * @param createdAt LocalDateTime - When the change was written
+ * @param order String - The order as OrderResponseDTO JSON, embedded as is
+ */
+public record OrderEvent(long id, OrderOutboxEvent.Type type, long orderId, LocalDateTime createdAt,
+                         @JsonRawValue String order) {
+
+    static OrderEvent of(OrderOutboxEvent event) {
+        return new OrderEvent(event.getId(), event.getEventType(), event.getOrderId(), event.getCreatedAt(),
+                event.getPayload());
+    }
+}
@@ -0,0 +1,25 @@
+package org.technoready.meliecommerce.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the order events drained from the outbox by OrderOutboxRelay.
+ * The relay deletes a batch only after publish returns, and sends it again after a failure or
+ * a crash in between, so implementations may receive an event more than once.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public interface OrderEventSink {
+
+    /**
+     * Delivers a batch of events in ID order. When it returns, the events must be stored
+     * on the other side; throwing leaves the whole batch in the outbox.
+     *
+     * @param events List<OrderEvent> - The events of the batch
+     * @throws IOException if the batch could not be delivered
+     */
+    void publish(List<OrderEvent> events) throws IOException;
+}
@@ -0,0 +1,55 @@
+package org.technoready.meliecommerce.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+import org.technoready.meliecommerce.repository.OrderOutboxRepository;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes order events to the order_outbox table inside the transaction that changes the order,
+ * so an event exists if and only if its change committed. Nothing is sent from the request thread:
+ * OrderOutboxRelay publishes the rows in the background.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderOutbox {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records an order change in the current transaction.
+     *
+     * @param type OrderOutboxEvent.Type - What happened to the order
+     * @param order OrderResponseDTO - The order as it is after the change
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void record(OrderOutboxEvent.Type type, OrderResponseDTO order) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        orderOutboxRepository.save(OrderOutboxEvent.builder()
+                .orderId(order.getId())
+                .eventType(type)
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.debug("Recorded {} for order {}", type, order.getId());
+    }
+}
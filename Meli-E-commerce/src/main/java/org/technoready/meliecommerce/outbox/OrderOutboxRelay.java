@@ -0,0 +1,127 @@
+package org.technoready.meliecommerce.outbox;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.repository.OrderOutboxRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background relay that drains the order outbox into the configured OrderEventSink.
+ * Every interval it reads the oldest events in batches, publishes each batch and then deletes it,
+ * until the outbox is empty or the sink fails. A batch that fails, or whose delete is lost to a
+ * crash, is published again on the next run, so delivery is at least once. Events committed late
+ * with a lower ID are still picked up, since every run starts from the oldest remaining row.
+ * After each run the backlog size and the age of its oldest event are published as metrics.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderEventSink sink;
+    private final ECommerceMetrics metrics;
+    private final boolean enabled;
+    private final Duration interval;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrderOutboxRelay(OrderOutboxRepository orderOutboxRepository,
+                            OrderEventSink sink,
+                            ECommerceMetrics metrics,
+                            @Value("${outbox.relay.enabled:true}") boolean enabled,
+                            @Value("${outbox.relay.interval:1s}") Duration interval,
+                            @Value("${outbox.relay.batch-size:500}") int batchSize) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.sink = sink;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts relaying once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::relay, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Order outbox relay started (interval: {}, batch size: {})", interval, batchSize);
+        }
+    }
+
+    /**
+     * Publishes pending events in ID order, one batch at a time, until the outbox is empty or the
+     * sink fails. Runs are serialized, so the scheduled relay and direct calls never overlap.
+     *
+     * @return int - Number of events published
+     */
+    public synchronized int drain() {
+        int published = 0;
+        List<OrderOutboxEvent> batch;
+        do {
+            batch = orderOutboxRepository.findOldest(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                sink.publish(batch.stream().map(OrderEvent::of).toList());
+            } catch (IOException | RuntimeException ex) {
+                metrics.outboxPublishFailed();
+                log.warn("Publishing {} order events failed, they stay in the outbox: {}", batch.size(), ex.getMessage());
+                break;
+            }
+            orderOutboxRepository.deleteAllByIdInBatch(batch.stream().map(OrderOutboxEvent::getId).toList());
+            metrics.outboxPublished(batch.size());
+            published += batch.size();
+        } while (batch.size() == batchSize);
+
+        Duration lag = orderOutboxRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()))
+                .orElse(Duration.ZERO);
+        metrics.outboxBacklog(orderOutboxRepository.count(), lag);
+        if (published > 0) {
+            log.debug("Published {} order events", published);
+        }
+        return published;
+    }
+
+    /**
+     * Stops the background thread on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void relay() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            // An exception would cancel the schedule; the events stay in the outbox for the next run
+            log.error("Order outbox relay run failed: {}", ex.getMessage());
+        }
+    }
+}
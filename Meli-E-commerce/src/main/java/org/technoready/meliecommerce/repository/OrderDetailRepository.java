@@ -1,6 +1,15 @@
 package org.technoready.meliecommerce.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.technoready.meliecommerce.dto.ProductUnitsDTO;
 import org.technoready.meliecommerce.entity.OrderDetails;
 
-public interface OrderDetailRepository extends JpaRepository<OrderDetails, Long> {}
+import java.util.List;
+
+public interface OrderDetailRepository extends JpaRepository<OrderDetails, Long> {
+
+    @Query("select new org.technoready.meliecommerce.dto.ProductUnitsDTO(d.product.id, sum(d.quantity))"
+            + " from OrderDetails d where d.order.active = true group by d.product.id")
+    List<ProductUnitsDTO> sumUnitsOfActiveOrdersByProduct();
+}
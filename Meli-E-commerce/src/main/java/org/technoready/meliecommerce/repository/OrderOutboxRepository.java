@@ -0,0 +1,19 @@
+package org.technoready.meliecommerce.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+
+    @Query("select e from OrderOutboxEvent e order by e.id")
+    List<OrderOutboxEvent> findOldest(Limit limit);
+
+    @Query("select min(e.createdAt) from OrderOutboxEvent e")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
@@ -1,12 +1,62 @@
 package org.technoready.meliecommerce.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.technoready.meliecommerce.dto.OrderLineRowDTO;
 import org.technoready.meliecommerce.entity.Order;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByUserId(long id);
-    List<Order> findByUser_IdAndActiveTrue(Long userId);
-    List<Order> findOrdersByActiveTrue();
+    int EXPORT_FETCH_SIZE = 500;
+
+    @EntityGraph(attributePaths = "details")
+    Optional<Order> findWithDetailsById(Long id);
+
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "details")
+    List<Order> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select o.id from Order o where o.id > :id order by o.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Limit limit);
+
+    @Query("select o.id from Order o where o.active = true and o.id > :id order by o.id")
+    List<Long> findActiveIdsAfter(@Param("id") Long id, Limit limit);
+
+    // Derived queries on user.id left join users and filter on users.id, which hides the
+    // orders(user_id, active) index from the planner; o.user.id maps straight to the FK column.
+    @Query("select new org.technoready.meliecommerce.dto.OrderLineRowDTO("
+            + "o.id, o.user.id, o.createdAt, o.total, o.active, o.version,"
+            + " d.product.id, d.productName, d.descriptionSnap, d.quantity, d.unitPrice)"
+            + " from Order o left join o.details d"
+            + " where o.user.id = :userId and (:activeOnly = false or o.active = true)"
+            + " order by o.id, d.id")
+    List<OrderLineRowDTO> findLineRowsByUserId(@Param("userId") Long userId,
+                                               @Param("activeOnly") boolean activeOnly);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o left join fetch o.details where (:userId is null or o.user.id = :userId)"
+            + " and (:activeOnly = false or o.active = true)"
+            + " and (:from is null or o.createdAt >= :from)"
+            + " and (:to is null or o.createdAt < :to)"
+            + " order by o.id")
+    Stream<Order> streamForExport(@Param("userId") Long userId,
+                                  @Param("activeOnly") boolean activeOnly,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
 }
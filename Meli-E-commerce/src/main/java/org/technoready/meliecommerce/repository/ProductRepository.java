@@ -1,10 +1,48 @@
 package org.technoready.meliecommerce.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import org.technoready.meliecommerce.dto.ProductVersionDTO;
 import org.technoready.meliecommerce.entity.Product;
 
 import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByActiveTrue();
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Product> findByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select new org.technoready.meliecommerce.dto.ProductVersionDTO(p.id, p.version) " +
+            "from Product p where p.id > :id order by p.id")
+    List<ProductVersionDTO> findVersionsAfter(@Param("id") Long id, Limit limit);
+
+    @Query("select new org.technoready.meliecommerce.dto.ProductVersionDTO(p.id, p.version) " +
+            "from Product p where p.active = true and p.id > :id order by p.id")
+    List<ProductVersionDTO> findActiveVersionsAfter(@Param("id") Long id, Limit limit);
+
+    /**
+     * Takes units from the stock of a product in a single conditional statement, so concurrent
+     * buyers can never drive it below zero. Products without tracked stock always succeed.
+     * The product version is bumped as well, since stock is part of its representation and ETag.
+     *
+     * @return int - 1 if the units were reserved, 0 if the product is missing or has too little stock
+     */
+    @Transactional
+    @Modifying
+    @Query("update versioned Product p set p.stock = p.stock - :quantity " +
+            "where p.id = :id and (p.stock is null or p.stock >= :quantity)")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /**
+     * Gives units back to the stock of a product. Products without tracked stock are left untouched.
+     *
+     * @return int - 1 if the stock was increased, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("update versioned Product p set p.stock = p.stock + :quantity where p.id = :id and p.stock is not null")
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,162 @@
+package org.technoready.meliecommerce.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.technoready.meliecommerce.dto.OrderLineRowDTO;
+import org.technoready.meliecommerce.dto.ProductDTO;
+import org.technoready.meliecommerce.dto.UserDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Non-blocking read repository over R2DBC.
+ * Reads the same tables the JPA entities map, straight into DTOs, so rows are emitted as the
+ * driver decodes them and no persistence context is involved. Read-only by design: every
+ * write still goes through the JPA repositories.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveReadRepository {
+
+    private static final String PRODUCT_COLUMNS =
+            "select id, name, description, price, stock, created_at, is_active from products";
+
+    private static final String USER_COLUMNS =
+            "select id, name, last_name, email, create_date, active from users";
+
+    private static final String ORDER_LINE_COLUMNS = """
+            select o.id as order_id, o.user_id, o.created_at, o.total, o.active, o.version,
+                   d.product_id, d.product_name, d.description_snap, d.quantity, d.unit_price
+            from orders o
+            left join order_details d on d.order_id = o.id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Streams products ordered by ID.
+     *
+     * @param activeOnly boolean - Flag to stream only active products
+     * @return Flux<ProductDTO> - The products, emitted as they are read
+     */
+    public Flux<ProductDTO> findProducts(boolean activeOnly) {
+        String sql = PRODUCT_COLUMNS + (activeOnly ? " where is_active = true" : "") + " order by id";
+        return databaseClient.sql(sql).map(ReactiveReadRepository::toProduct).all();
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param id Long - The ID of the product
+     * @return Mono<ProductDTO> - The product, or empty if it does not exist
+     */
+    public Mono<ProductDTO> findProductById(Long id) {
+        return databaseClient.sql(PRODUCT_COLUMNS + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toProduct)
+                .one();
+    }
+
+    /**
+     * Streams users ordered by ID.
+     *
+     * @param activeOnly boolean - Flag to stream only active users
+     * @return Flux<UserDTO> - The users, emitted as they are read
+     */
+    public Flux<UserDTO> findUsers(boolean activeOnly) {
+        String sql = USER_COLUMNS + (activeOnly ? " where active = true" : "") + " order by id";
+        return databaseClient.sql(sql).map(ReactiveReadRepository::toUser).all();
+    }
+
+    /**
+     * Finds a user by its ID.
+     *
+     * @param id Long - The ID of the user
+     * @return Mono<UserDTO> - The user, or empty if it does not exist
+     */
+    public Mono<UserDTO> findUserById(Long id) {
+        return databaseClient.sql(USER_COLUMNS + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Streams the order lines of a user in a single query, ordered by order ID so the rows
+     * of one order are contiguous.
+     *
+     * @param userId Long - The ID of the user
+     * @param activeOnly boolean - Flag to stream only the lines of active orders
+     * @return Flux<OrderLineRowDTO> - One row per order line; detail fields are null for an order without lines
+     */
+    public Flux<OrderLineRowDTO> findOrderLinesByUserId(Long userId, boolean activeOnly) {
+        String sql = ORDER_LINE_COLUMNS + " where o.user_id = :userId"
+                + (activeOnly ? " and o.active = true" : "") + " order by o.id, d.id";
+        return databaseClient.sql(sql)
+                .bind("userId", userId)
+                .map(ReactiveReadRepository::toOrderLine)
+                .all();
+    }
+
+    /**
+     * Finds every line of an order in a single query.
+     *
+     * @param id Long - The ID of the order
+     * @return Flux<OrderLineRowDTO> - One row per order line, empty if the order does not exist
+     */
+    public Flux<OrderLineRowDTO> findOrderLinesById(Long id) {
+        return databaseClient.sql(ORDER_LINE_COLUMNS + " where o.id = :id order by d.id")
+                .bind("id", id)
+                .map(ReactiveReadRepository::toOrderLine)
+                .all();
+    }
+
+    private static ProductDTO toProduct(Readable row) {
+        return ProductDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .description(row.get("description", String.class))
+                .price(row.get("price", Double.class))
+                .stock(row.get("stock", Integer.class))
+                .created_at(row.get("created_at", LocalTime.class))
+                .active(Boolean.TRUE.equals(row.get("is_active", Boolean.class)))
+                .build();
+    }
+
+    private static UserDTO toUser(Readable row) {
+        return UserDTO.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .createDate(row.get("create_date", LocalDate.class))
+                .active(Boolean.TRUE.equals(row.get("active", Boolean.class)))
+                .build();
+    }
+
+    private static OrderLineRowDTO toOrderLine(Readable row) {
+        Double total = row.get("total", Double.class);
+        return new OrderLineRowDTO(
+                row.get("order_id", Long.class),
+                row.get("user_id", Long.class),
+                row.get("created_at", LocalDateTime.class),
+                total == null ? 0 : total,
+                Boolean.TRUE.equals(row.get("active", Boolean.class)),
+                row.get("version", Long.class),
+                row.get("product_id", Long.class),
+                row.get("product_name", String.class),
+                row.get("description_snap", String.class),
+                row.get("quantity", Integer.class),
+                row.get("unit_price", Double.class));
+    }
+}
@@ -1,10 +1,23 @@
 package org.technoready.meliecommerce.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.technoready.meliecommerce.dto.UserStatusDTO;
 import org.technoready.meliecommerce.entity.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    List<User> findAllByActiveTrue();
+    List<User> findAllByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<User> findAllByActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select new org.technoready.meliecommerce.dto.UserStatusDTO(u.id, u.active, u.version) from User u where u.id in :ids")
+    List<UserStatusDTO> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new org.technoready.meliecommerce.dto.UserStatusDTO(u.id, u.active, u.version) from User u where u.id = :id")
+    Optional<UserStatusDTO> findStatusById(@Param("id") Long id);
 }
@@ -0,0 +1,545 @@
+package org.technoready.meliecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.technoready.meliecommerce.dto.ProductUnitsDTO;
+import org.technoready.meliecommerce.entity.OrderDetails;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.OrderDetailRepository;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead suggestions over the names of active products, ranked by order popularity.
+ * Names are normalized like search text and stored in a radix tree, keyed by the whole name and
+ * by the rest of the name from each later word, so "gam" suggests "Laptop Gamer ASUS". Every node
+ * keeps the best suggestions of its subtree, so a lookup walks the typed prefix and returns that
+ * list as is; writes rebuild the lists along the paths they touch.
+ * Popularity is the number of units in active orders, loaded at startup and moved after each
+ * committed order write. Lookups share a read lock and writes take the write lock.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAutocompleteIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    // Later words of a name that also start a key; keeps long names from multiplying the tree
+    private static final int MAX_WORD_STARTS = 6;
+    private static final int WARM_BATCH = 1000;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    // Most ordered first, then oldest product
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::popularity)
+            .reversed()
+            .thenComparingLong(Suggestion::productId);
+
+    private final ProductRepository productRepository;
+    private final OrderDetailRepository orderDetailRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Indexed> indexedById = new HashMap<>();
+    // Units in active orders of every product, indexed or not, so a reactivated product keeps its rank
+    private final Map<Long, Long> unitsById = new HashMap<>();
+    // Versions of products removed while warming, so the warm-up cannot re-add them from an older read
+    private final Map<Long, Long> removedWhileWarming = new HashMap<>();
+    private boolean warming;
+
+    /**
+     * One suggestion for a typed prefix.
+     *
+     * @param productId long - The ID of the suggested product
+     * @param name String - The product name as stored
+     * @param popularity long - Units of the product in active orders
+     */
+    public record Suggestion(long productId, String name, long popularity) {}
+
+    /**
+     * The suggestion currently indexed for a product, the version it came from, and its keys.
+     * {@code alone} is the top list of nodes holding only this product, shared instead of copied.
+     */
+    private record Indexed(Suggestion suggestion, long version, List<String> keys, List<Suggestion> alone) {}
+
+    private static final class Node {
+        private String label;
+        // Sorted by the first character of their labels, which are unique among siblings
+        private Node[] children = NO_CHILDREN;
+        // Products whose key ends at this node
+        private Suggestion[] terminal = NO_SUGGESTIONS;
+        // Best suggestions of the whole subtree, never modified once published
+        private List<Suggestion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Loads order popularity and indexes every active product once the application is ready,
+     * reading products in ID order batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        List<ProductUnitsDTO> units = orderDetailRepository.sumUnitsOfActiveOrdersByProduct();
+        lock.writeLock().lock();
+        try {
+            warming = true;
+            removedWhileWarming.clear();
+            // Deltas committed between this query and now are counted twice; popularity is only a ranking hint
+            for (ProductUnitsDTO row : units) {
+                unitsById.merge(row.productId(), row.units(), Long::sum);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(WARM_BATCH));
+            lock.writeLock().lock();
+            try {
+                for (Product product : batch) {
+                    put(product);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == WARM_BATCH);
+
+        lock.writeLock().lock();
+        try {
+            warming = false;
+            removedWhileWarming.clear();
+            log.info("Product autocomplete index warmed with {} products", indexedById.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most popular active products whose name, or a later word of it, starts with
+     * the given prefix. Accents, case and punctuation are ignored.
+     *
+     * @param prefix String - What the user typed so far
+     * @param limit int - Maximum number of suggestions, capped at MAX_SUGGESTIONS
+     * @return List<Suggestion> - Suggestions, most ordered first; an unmodifiable view of the index
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = keyOfPrefix(prefix);
+        if (key.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = child(node, key.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonLength(child.label, key, matched);
+                if (matched + common < key.length() && common < child.label.length()) {
+                    return List.of();
+                }
+                matched += common;
+                node = child;
+            }
+            List<Suggestion> top = node.top;
+            return top.size() <= limit ? top : top.subList(0, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds, renames or removes a product after it was written: active products are (re)indexed
+     * and inactive ones are removed. A product older than the indexed version is ignored.
+     *
+     * @param product Product - The product as committed
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves product popularity by the difference between the units an order had and has now,
+     * once the current transaction commits (or right away outside a transaction).
+     *
+     * @param previousUnits Map<Long, Integer> - Units per product ID the order counted before, empty for a new order
+     * @param currentUnits Map<Long, Integer> - Units per product ID the order counts now, empty for a deleted order
+     */
+    public void recordOrderAfterCommit(Map<Long, Integer> previousUnits, Map<Long, Integer> currentUnits) {
+        Map<Long, Long> deltas = new HashMap<>();
+        currentUnits.forEach((productId, units) -> deltas.merge(productId, (long) units, Long::sum));
+        previousUnits.forEach((productId, units) -> deltas.merge(productId, (long) -units, Long::sum));
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyUnits(deltas);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyUnits(deltas);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return int - Active products in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the quantities of order details per product ID, every product included.
+     *
+     * @param details List<OrderDetails> - Lines of an order
+     * @return Map<Long, Integer> - Units per product ID
+     */
+    public static Map<Long, Integer> unitsOf(List<OrderDetails> details) {
+        Map<Long, Integer> units = new HashMap<>();
+        for (OrderDetails detail : details) {
+            units.merge(detail.getProduct().getId(), detail.getQuantity(), Integer::sum);
+        }
+        return units;
+    }
+
+    private void applyUnits(Map<Long, Long> deltas) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                long units = Math.max(0, unitsById.getOrDefault(delta.getKey(), 0L) + delta.getValue());
+                unitsById.put(delta.getKey(), units);
+                Indexed indexed = indexedById.get(delta.getKey());
+                if (indexed != null) {
+                    Suggestion old = indexed.suggestion();
+                    replace(indexed, new Suggestion(old.productId(), old.name(), units), indexed.version(), indexed.keys());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Product product) {
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        Indexed indexed = indexedById.get(product.getId());
+        if (indexed != null && indexed.version() > version) {
+            return;
+        }
+        Long removedVersion = removedWhileWarming.get(product.getId());
+        if (removedVersion != null && removedVersion > version) {
+            return;
+        }
+
+        if (!product.isActive()) {
+            if (indexed != null) {
+                replace(indexed, null, version, List.of());
+            }
+            if (warming) {
+                removedWhileWarming.put(product.getId(), version);
+            }
+            return;
+        }
+        Suggestion suggestion = new Suggestion(product.getId(), product.getName(),
+                unitsById.getOrDefault(product.getId(), 0L));
+        if (indexed != null && indexed.suggestion().equals(suggestion)) {
+            indexedById.put(product.getId(), new Indexed(indexed.suggestion(), version, indexed.keys(), indexed.alone()));
+            return;
+        }
+        replace(indexed, suggestion, version, keysOf(product.getName()));
+    }
+
+    /**
+     * Swaps the indexed suggestion of a product for a new one under the given keys, or removes
+     * the product when the new suggestion is null.
+     */
+    private void replace(Indexed indexed, Suggestion suggestion, long version, List<String> keys) {
+        if (indexed != null) {
+            for (String key : indexed.keys()) {
+                delete(key, indexed.suggestion());
+            }
+            indexedById.remove(indexed.suggestion().productId());
+        }
+        if (suggestion == null) {
+            return;
+        }
+        Indexed added = new Indexed(suggestion, version, keys, List.of(suggestion));
+        indexedById.put(suggestion.productId(), added);
+        for (String key : keys) {
+            insert(key, added);
+        }
+    }
+
+    private void insert(String key, Indexed indexed) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            int slot = childSlot(node, key.charAt(matched));
+            if (slot < 0) {
+                Node leaf = new Node(key.substring(matched));
+                node.children = insertAt(node.children, -slot - 1, leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[slot];
+            int common = commonLength(child.label, key, matched);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[] {child};
+                node.children[slot] = middle;
+                child = middle;
+            }
+            matched += common;
+            node = child;
+            path.add(node);
+        }
+        node.terminal = Arrays.copyOf(node.terminal, node.terminal.length + 1);
+        node.terminal[node.terminal.length - 1] = indexed.suggestion();
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            refreshTop(path.get(i), indexed);
+        }
+    }
+
+    private void delete(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = child(node, key.charAt(matched));
+            if (child == null || commonLength(child.label, key, matched) < child.label.length()) {
+                return;
+            }
+            matched += child.label.length();
+            node = child;
+            path.add(node);
+        }
+        int at = indexOf(node.terminal, suggestion);
+        if (at < 0) {
+            return;
+        }
+        Suggestion[] terminal = new Suggestion[node.terminal.length - 1];
+        System.arraycopy(node.terminal, 0, terminal, 0, at);
+        System.arraycopy(node.terminal, at + 1, terminal, at, terminal.length - at);
+        node.terminal = terminal;
+
+        // Bottom-up: drop empty nodes, fold single-child nodes into their child, then refresh the lists
+        for (int i = path.size() - 1; i >= 1; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            int slot = childSlot(parent, current.label.charAt(0));
+            if (current.terminal.length == 0 && current.children.length == 0) {
+                parent.children = removeAt(parent.children, slot);
+                continue;
+            }
+            if (current.terminal.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.children[slot] = only;
+                continue;
+            }
+            refreshTop(current, null);
+        }
+        refreshTop(root, null);
+    }
+
+    /**
+     * Rebuilds the best suggestions of a node from its own products and its children's lists.
+     */
+    private void refreshTop(Node node, Indexed single) {
+        if (single != null && node.children.length == 0 && node.terminal.length == 1
+                && node.terminal[0] == single.suggestion()) {
+            node.top = single.alone();
+            return;
+        }
+        List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminal));
+        for (Node child : node.children) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(RANKING);
+        List<Suggestion> top = new ArrayList<>(Math.min(candidates.size(), MAX_SUGGESTIONS));
+        Set<Long> seen = new HashSet<>();
+        for (Suggestion candidate : candidates) {
+            if (top.size() == MAX_SUGGESTIONS) {
+                break;
+            }
+            // A product reached through two of its keys appears once
+            if (seen.add(candidate.productId())) {
+                top.add(candidate);
+            }
+        }
+        node.top = top.size() == 1 && single != null && top.get(0) == single.suggestion()
+                ? single.alone()
+                : List.copyOf(top);
+    }
+
+    /**
+     * Builds the keys of a product name: the whole normalized name, and the rest of it from each
+     * later word that is not a stop word.
+     */
+    static List<String> keysOf(String name) {
+        List<String> words = SearchText.words(name);
+        Set<String> keys = new LinkedHashSet<>();
+        int starts = 0;
+        for (int i = 0; i < words.size() && starts <= MAX_WORD_STARTS; i++) {
+            if (i == 0 || !SearchText.isStopWord(words.get(i))) {
+                keys.add(String.join(" ", words.subList(i, words.size())));
+                starts++;
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    /**
+     * Normalizes a typed prefix like the keys: its words joined by single spaces.
+     * Plain ASCII input, what a search box sends on most keystrokes, is lower-cased and split in a
+     * single pass; anything else goes through SearchText to strip accents.
+     */
+    static String keyOfPrefix(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(prefix.length());
+        boolean separator = false;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c >= 0x80) {
+                return String.join(" ", SearchText.words(prefix));
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                separator = appendSeparator(key, separator);
+                key.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                separator = appendSeparator(key, separator);
+                key.append((char) (c + ('a' - 'A')));
+            } else {
+                separator = true;
+            }
+        }
+        return key.toString();
+    }
+
+    private static boolean appendSeparator(StringBuilder key, boolean separator) {
+        if (separator && !key.isEmpty()) {
+            key.append(' ');
+        }
+        return false;
+    }
+
+    private static Node child(Node node, char first) {
+        int slot = childSlot(node, first);
+        return slot < 0 ? null : node.children[slot];
+    }
+
+    /**
+     * Binary search over the first characters of the children labels, returning the slot or
+     * (-insertion point - 1) like Arrays.binarySearch.
+     */
+    private static int childSlot(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char current = node.children[mid].label.charAt(0);
+            if (current < first) {
+                low = mid + 1;
+            } else if (current > first) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int commonLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(Suggestion[] suggestions, Suggestion suggestion) {
+        for (int i = 0; i < suggestions.length; i++) {
+            if (suggestions[i] == suggestion) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Node[] insertAt(Node[] children, int slot, Node child) {
+        Node[] grown = new Node[children.length + 1];
+        System.arraycopy(children, 0, grown, 0, slot);
+        grown[slot] = child;
+        System.arraycopy(children, slot, grown, slot + 1, children.length - slot);
+        return grown;
+    }
+
+    private static Node[] removeAt(Node[] children, int slot) {
+        if (children.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] shrunk = new Node[children.length - 1];
+        System.arraycopy(children, 0, shrunk, 0, slot);
+        System.arraycopy(children, slot + 1, shrunk, slot, shrunk.length - slot);
+        return shrunk;
+    }
+}
@@ -0,0 +1,341 @@
+package org.technoready.meliecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InvalidCursorException;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of active products ordered by price, then ID, for price-range listings.
+ * Entries are (price, ID) pairs kept in primitive sorted blocks of at most BLOCK_SIZE entries, with
+ * the blocks themselves in key order, so a range scan is two binary searches followed by a sequential
+ * read, and a price change shifts entries inside one block only. Pages are keyset-paginated on the
+ * (price, ID) of their last entry. The index is warmed at startup and kept current by ProductService
+ * writes. Scans share a read lock and writes take the write lock.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductPriceIndex {
+
+    private static final int BLOCK_SIZE = 512;
+    private static final int WARM_BATCH = 1000;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Indexed> indexedById = new HashMap<>();
+    // Versions of products removed while warming, so the warm-up cannot re-add them from an older read
+    private final Map<Long, Long> removedWhileWarming = new HashMap<>();
+    private boolean warming;
+
+    // Never empty, and only the first block may have no entries
+    private Block[] blocks = {new Block()};
+    private int blockCount = 1;
+
+    private record Indexed(double price, long version) {}
+
+    private record Key(double price, long id) {}
+
+    private static final class Block {
+        private final double[] prices = new double[BLOCK_SIZE];
+        private final long[] ids = new long[BLOCK_SIZE];
+        private int size;
+    }
+
+    /**
+     * Indexes every active product once the application is ready, reading them in ID order batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        setWarming(true);
+        long lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(WARM_BATCH));
+            lock.writeLock().lock();
+            try {
+                for (Product product : batch) {
+                    put(product);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == WARM_BATCH);
+        setWarming(false);
+        log.info("Product price index warmed with {} products in {} blocks", size(), blockCount);
+    }
+
+    /**
+     * Adds, moves or removes a product after it was written: active products with a price are
+     * (re)indexed under their current price and the rest are removed. A product older than the
+     * indexed version is ignored.
+     *
+     * @param product Product - The product as committed
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of one page of active products priced within a range, cheapest first and by
+     * ID among equal prices.
+     *
+     * @param minPrice double - Lowest price included
+     * @param maxPrice double - Highest price included
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of IDs in the page
+     * @return CursorPage<Long> - Product IDs in price order and the cursor of the next page
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public CursorPage<Long> page(double minPrice, double maxPrice, String cursor, int size) {
+        double fromPrice = minPrice;
+        long fromId = Long.MIN_VALUE;
+        boolean exclusive = false;
+        if (cursor != null && !cursor.isBlank()) {
+            Key after = decode(cursor);
+            // A cursor below the range (the range changed between pages) restarts at its lower bound
+            if (compare(after.price(), after.id(), minPrice, Long.MIN_VALUE) >= 0) {
+                fromPrice = after.price();
+                fromId = after.id();
+                exclusive = true;
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(size);
+        double lastPrice = 0;
+        lock.readLock().lock();
+        try {
+            int b = blockOf(fromPrice, fromId);
+            int i = exclusive ? upperBound(blocks[b], fromPrice, fromId) : lowerBound(blocks[b], fromPrice, fromId);
+            while (b < blockCount) {
+                Block block = blocks[b];
+                for (; i < block.size; i++) {
+                    if (block.prices[i] > maxPrice) {
+                        return new CursorPage<>(ids, null);
+                    }
+                    if (ids.size() == size) {
+                        return new CursorPage<>(ids, encode(lastPrice, ids.get(size - 1)));
+                    }
+                    ids.add(block.ids[i]);
+                    lastPrice = block.prices[i];
+                }
+                b++;
+                i = 0;
+            }
+            return new CursorPage<>(ids, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return int - Active products with a price in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setWarming(boolean warming) {
+        lock.writeLock().lock();
+        try {
+            this.warming = warming;
+            removedWhileWarming.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Product product) {
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        Indexed indexed = indexedById.get(product.getId());
+        if (indexed != null && indexed.version() > version) {
+            return;
+        }
+        Long removedVersion = removedWhileWarming.get(product.getId());
+        if (removedVersion != null && removedVersion > version) {
+            return;
+        }
+
+        if (indexed != null) {
+            remove(indexed.price(), product.getId());
+            indexedById.remove(product.getId());
+        }
+        if (product.isActive() && product.getPrice() != null && !product.getPrice().isNaN()) {
+            insert(product.getPrice(), product.getId());
+            indexedById.put(product.getId(), new Indexed(product.getPrice(), version));
+        } else if (warming) {
+            removedWhileWarming.put(product.getId(), version);
+        }
+    }
+
+    private void insert(double price, long id) {
+        int b = blockOf(price, id);
+        Block block = blocks[b];
+        int at = lowerBound(block, price, id);
+        if (block.size == BLOCK_SIZE) {
+            Block upper = split(b);
+            if (at > block.size) {
+                block = upper;
+                at -= blocks[b].size;
+            }
+        }
+        System.arraycopy(block.prices, at, block.prices, at + 1, block.size - at);
+        System.arraycopy(block.ids, at, block.ids, at + 1, block.size - at);
+        block.prices[at] = price;
+        block.ids[at] = id;
+        block.size++;
+    }
+
+    private void remove(double price, long id) {
+        int b = blockOf(price, id);
+        Block block = blocks[b];
+        int at = lowerBound(block, price, id);
+        if (at == block.size || block.ids[at] != id || block.prices[at] != price) {
+            return;
+        }
+        System.arraycopy(block.prices, at + 1, block.prices, at, block.size - at - 1);
+        System.arraycopy(block.ids, at + 1, block.ids, at, block.size - at - 1);
+        block.size--;
+        if (block.size == 0 && blockCount > 1) {
+            System.arraycopy(blocks, b + 1, blocks, b, blockCount - b - 1);
+            blocks[--blockCount] = null;
+        }
+    }
+
+    /**
+     * Moves the upper half of a full block into a new block right after it.
+     *
+     * @return Block - The new upper block
+     */
+    private Block split(int b) {
+        Block lower = blocks[b];
+        Block upper = new Block();
+        int half = BLOCK_SIZE / 2;
+        upper.size = lower.size - half;
+        System.arraycopy(lower.prices, half, upper.prices, 0, upper.size);
+        System.arraycopy(lower.ids, half, upper.ids, 0, upper.size);
+        lower.size = half;
+
+        if (blockCount == blocks.length) {
+            Block[] grown = new Block[blocks.length * 2];
+            System.arraycopy(blocks, 0, grown, 0, blockCount);
+            blocks = grown;
+        }
+        System.arraycopy(blocks, b + 1, blocks, b + 2, blockCount - b - 1);
+        blocks[b + 1] = upper;
+        blockCount++;
+        return upper;
+    }
+
+    /**
+     * Finds the last block whose first entry is not after the given key, or the first block.
+     */
+    private int blockOf(double price, long id) {
+        int low = 1;
+        int high = blockCount - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Block block = blocks[mid];
+            if (compare(block.prices[0], block.ids[0], price, id) <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * First position in the block whose entry is not before the given key.
+     */
+    private static int lowerBound(Block block, double price, long id) {
+        int low = 0;
+        int high = block.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(block.prices[mid], block.ids[mid], price, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position in the block whose entry is after the given key.
+     */
+    private static int upperBound(Block block, double price, long id) {
+        int at = lowerBound(block, price, id);
+        return at < block.size && block.prices[at] == price && block.ids[at] == id ? at + 1 : at;
+    }
+
+    private static int compare(double price, long id, double otherPrice, long otherId) {
+        int byPrice = Double.compare(price, otherPrice);
+        return byPrice != 0 ? byPrice : Long.compare(id, otherId);
+    }
+
+    /**
+     * Encodes the (price, ID) key of the last entry of a page as a cursor token.
+     */
+    private static String encode(double price, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((price + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor token into the (price, ID) key to continue after.
+     */
+    private static Key decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = raw.indexOf(':');
+            double price = Double.parseDouble(raw.substring(0, separator));
+            if (Double.isNaN(price)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new Key(price, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package org.technoready.meliecommerce.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the name and description of active products, ranked with BM25.
+ * Each product gets a dense internal ordinal; every term keeps a posting list of the ordinals
+ * containing it and how often, in primitive arrays. The index is warmed at startup and kept
+ * current by ProductService writes. A changed product is re-added under a new ordinal and its
+ * old postings are skipped until enough of them pile up to compact the index.
+ * Searches share a read lock and writes take the write lock.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // A term in the name weighs as much as this many occurrences in the description
+    private static final int NAME_BOOST = 2;
+    private static final int WARM_BATCH = 1000;
+    private static final int MIN_COMPACTION = 1024;
+    private static final int DEAD = -1;
+
+    // Lowest-ranked hit first, so the head of a bounded heap is the one to drop
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparing(Hit::productId, Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    // Versions of products removed while warming, so the warm-up cannot re-add them from an older read
+    private final Map<Long, Long> removedWhileWarming = new HashMap<>();
+    private boolean warming;
+
+    private long[] productIds = new long[1024];
+    private long[] versions = new long[1024];
+    // Token count of each ordinal, DEAD once removed, so scoring checks liveness in the array it reads anyway
+    private int[] lengths = new int[1024];
+    // Postings of each ordinal, null once the ordinal is dead
+    private Postings[][] postingsOf = new Postings[1024][];
+    private int ordinals;
+    private int liveDocs;
+    private long totalLength;
+
+    /**
+     * One search result.
+     *
+     * @param productId long - The ID of the matching product
+     * @param score double - BM25 score, higher is more relevant
+     */
+    public record Hit(long productId, double score) {}
+
+    /**
+     * Ordinals containing a term in ascending order, with the term frequency of each. The highest
+     * frequency and shortest product seen bound the score any entry can reach.
+     */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int[] freqs = new int[2];
+        private int size;
+        private int live;
+        private int maxFreq;
+        private int minLength = Integer.MAX_VALUE;
+
+        private void add(int doc, int freq, int length) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            live++;
+            maxFreq = Math.max(maxFreq, freq);
+            minLength = Math.min(minLength, length);
+        }
+    }
+
+    /**
+     * Indexes every active product once the application is ready, reading them in ID order batches.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        setWarming(true);
+        long lastId = 0;
+        List<Product> batch;
+        do {
+            batch = productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, Limit.of(WARM_BATCH));
+            lock.writeLock().lock();
+            try {
+                for (Product product : batch) {
+                    put(product);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == WARM_BATCH);
+        setWarming(false);
+        log.info("Product search index warmed with {} products and {} terms", size(), termCount());
+    }
+
+    /**
+     * Adds, replaces or removes a product after it was written: active products are (re)indexed
+     * and inactive ones are removed. A product older than the indexed version is ignored.
+     *
+     * @param product Product - The product as committed
+     */
+    public void index(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            put(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the active products that best match a free-text query. Accents and case are ignored
+     * and a product matches if it contains any query term; products containing more, rarer and
+     * name terms rank first.
+     *
+     * @param query String - The search text
+     * @param limit int - Maximum number of hits
+     * @return List<Hit> - Hits ordered by descending score, then by product ID
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(SearchText.tokens(query));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> matched = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings != null && postings.live > 0) {
+                    matched.add(postings);
+                }
+            }
+            if (matched.isEmpty()) {
+                return List.of();
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            collect(matched, limit, top);
+
+            List<Hit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                hits.add(top.poll());
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     *
+     * @return int - Active products in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postingsByTerm.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setWarming(boolean warming) {
+        lock.writeLock().lock();
+        try {
+            this.warming = warming;
+            removedWhileWarming.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Product product) {
+        long version = product.getVersion() == null ? 0 : product.getVersion();
+        Integer ordinal = ordinalById.get(product.getId());
+        if (ordinal != null && versions[ordinal] > version) {
+            return;
+        }
+        Long removedVersion = removedWhileWarming.get(product.getId());
+        if (removedVersion != null && removedVersion > version) {
+            return;
+        }
+
+        if (ordinal != null) {
+            remove(ordinal);
+        }
+        if (product.isActive()) {
+            add(product, version);
+        } else if (warming) {
+            removedWhileWarming.put(product.getId(), version);
+        }
+
+        int dead = ordinals - liveDocs;
+        if (dead > MIN_COMPACTION && dead > liveDocs / 4) {
+            compact();
+        }
+    }
+
+    private void add(Product product, long version) {
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = 0;
+        for (String term : SearchText.tokens(product.getName())) {
+            freqs.merge(term, NAME_BOOST, Integer::sum);
+            length += NAME_BOOST;
+        }
+        for (String term : SearchText.tokens(product.getDescription())) {
+            freqs.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        int ordinal = ordinals++;
+        if (ordinal == productIds.length) {
+            int capacity = ordinal * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            postingsOf = Arrays.copyOf(postingsOf, capacity);
+        }
+
+        Postings[] own = new Postings[freqs.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : freqs.entrySet()) {
+            Postings postings = postingsByTerm.computeIfAbsent(entry.getKey(), term -> new Postings());
+            postings.add(ordinal, entry.getValue(), length);
+            own[i++] = postings;
+        }
+
+        productIds[ordinal] = product.getId();
+        versions[ordinal] = version;
+        lengths[ordinal] = length;
+        postingsOf[ordinal] = own;
+        ordinalById.put(product.getId(), ordinal);
+        liveDocs++;
+        totalLength += length;
+    }
+
+    private void remove(int ordinal) {
+        for (Postings postings : postingsOf[ordinal]) {
+            postings.live--;
+        }
+        postingsOf[ordinal] = null;
+        ordinalById.remove(productIds[ordinal]);
+        liveDocs--;
+        totalLength -= lengths[ordinal];
+        lengths[ordinal] = DEAD;
+    }
+
+    /**
+     * Renumbers the live ordinals densely and drops dead entries from every posting list.
+     */
+    private void compact() {
+        int[] remap = new int[ordinals];
+        int next = 0;
+        for (int ordinal = 0; ordinal < ordinals; ordinal++) {
+            if (postingsOf[ordinal] == null) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = next;
+            productIds[next] = productIds[ordinal];
+            versions[next] = versions[ordinal];
+            lengths[next] = lengths[ordinal];
+            postingsOf[next] = postingsOf[ordinal];
+            ordinalById.put(productIds[next], next);
+            next++;
+        }
+        Arrays.fill(postingsOf, next, ordinals, null);
+        log.info("Product search index compacted from {} to {} ordinals", ordinals, next);
+        ordinals = next;
+
+        Iterator<Postings> terms = postingsByTerm.values().iterator();
+        while (terms.hasNext()) {
+            Postings postings = terms.next();
+            int kept = 0;
+            postings.maxFreq = 0;
+            postings.minLength = Integer.MAX_VALUE;
+            for (int i = 0; i < postings.size; i++) {
+                int doc = remap[postings.docs[i]];
+                if (doc >= 0) {
+                    postings.docs[kept] = doc;
+                    postings.freqs[kept] = postings.freqs[i];
+                    postings.maxFreq = Math.max(postings.maxFreq, postings.freqs[i]);
+                    postings.minLength = Math.min(postings.minLength, lengths[doc]);
+                    kept++;
+                }
+            }
+            postings.size = kept;
+            if (kept == 0) {
+                terms.remove();
+            }
+        }
+    }
+
+    /**
+     * Scores the documents of the posting lists in ordinal order and keeps the best in the heap,
+     * pruning with MaxScore: lists are sorted by the highest score they can add, and once the heap
+     * is full, the lists whose combined bound cannot reach its worst hit are no longer walked, only
+     * probed for the documents found in the others. A document is skipped as soon as its score
+     * plus the bounds of the lists left to probe falls below the worst hit.
+     */
+    private void collect(List<Postings> matched, int limit, PriorityQueue<Hit> top) {
+        double averageLength = Math.max(1.0, (double) totalLength / liveDocs);
+        int count = matched.size();
+        Postings[] lists = new Postings[count];
+        double[] idfs = new double[count];
+        double[] bounds = new double[count];
+        Integer[] order = new Integer[count];
+        for (int t = 0; t < count; t++) {
+            order[t] = t;
+            bounds[t] = upperBound(matched.get(t), averageLength);
+        }
+        Arrays.sort(order, Comparator.comparingDouble(t -> bounds[t]));
+        // Sum of the bounds of the lists before each index
+        double[] boundsBefore = new double[count + 1];
+        for (int t = 0; t < count; t++) {
+            lists[t] = matched.get(order[t]);
+            idfs[t] = idf(lists[t]);
+            boundsBefore[t + 1] = boundsBefore[t] + bounds[order[t]];
+        }
+
+        int[] positions = new int[count];
+        double[] contributions = new double[count];
+        // Lists from here on are walked, the ones before are only probed
+        int firstWalked = 0;
+        double threshold = Double.NEGATIVE_INFINITY;
+        while (firstWalked < count) {
+            int doc = Integer.MAX_VALUE;
+            for (int t = firstWalked; t < count; t++) {
+                if (positions[t] < lists[t].size) {
+                    doc = Math.min(doc, lists[t].docs[positions[t]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+
+            boolean live = lengths[doc] != DEAD;
+            double partial = 0;
+            Arrays.fill(contributions, 0);
+            for (int t = firstWalked; t < count; t++) {
+                Postings postings = lists[t];
+                if (positions[t] < postings.size && postings.docs[positions[t]] == doc) {
+                    if (live) {
+                        contributions[t] = termScore(idfs[t], postings.freqs[positions[t]], doc, averageLength);
+                        partial += contributions[t];
+                    }
+                    positions[t]++;
+                }
+            }
+            if (!live) {
+                continue;
+            }
+            int probed = firstWalked;
+            while (probed > 0 && partial + boundsBefore[probed] >= threshold) {
+                int t = --probed;
+                Postings postings = lists[t];
+                int found = Arrays.binarySearch(postings.docs, positions[t], postings.size, doc);
+                positions[t] = found >= 0 ? found : -found - 1;
+                if (found >= 0) {
+                    contributions[t] = termScore(idfs[t], postings.freqs[found], doc, averageLength);
+                    partial += contributions[t];
+                }
+            }
+            if (probed > 0) {
+                continue;
+            }
+            // Summed in list order, so a document gets the same score however it was reached
+            double score = 0;
+            for (double contribution : contributions) {
+                score += contribution;
+            }
+
+            if (score >= threshold && offer(top, limit, doc, score) && top.size() == limit) {
+                threshold = top.peek().score();
+                while (firstWalked < count && boundsBefore[firstWalked + 1] < threshold) {
+                    firstWalked++;
+                }
+            }
+        }
+    }
+
+    private double upperBound(Postings postings, double averageLength) {
+        // Slightly above the exact bound, so rounding can never prune a document that reaches it
+        return bm25(idf(postings), postings.maxFreq, postings.minLength, averageLength) * (1 + 1e-9);
+    }
+
+    private double idf(Postings postings) {
+        return Math.log(1 + (liveDocs - postings.live + 0.5) / (postings.live + 0.5));
+    }
+
+    private double termScore(double idf, int freq, int doc, double averageLength) {
+        return bm25(idf, freq, lengths[doc], averageLength);
+    }
+
+    private static double bm25(double idf, int freq, int length, double averageLength) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return idf * freq * (K1 + 1) / (freq + norm);
+    }
+
+    private boolean offer(PriorityQueue<Hit> top, int limit, int doc, double score) {
+        long productId = productIds[doc];
+        if (top.size() == limit) {
+            Hit worst = top.peek();
+            if (score < worst.score() || (score == worst.score() && productId > worst.productId())) {
+                return false;
+            }
+            top.poll();
+        }
+        top.add(new Hit(productId, score));
+        return true;
+    }
+}
@@ -0,0 +1,88 @@
+package org.technoready.meliecommerce.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization shared by product indexing and search queries.
+ * Text is decomposed and stripped of accents and other combining marks, then lower-cased,
+ * so "Audífonos", "AUDIFONOS" and "audifonos" produce the same token. Tokens are runs of
+ * letters and digits; the most common Spanish articles, prepositions and conjunctions are
+ * dropped, since they match most of the catalog and carry no ranking signal.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public final class SearchText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "sin", "su", "sus", "u", "un", "una", "y");
+
+    private SearchText() {
+    }
+
+    /**
+     * Removes accents and lower-cases a text.
+     *
+     * @param text String - The text to normalize, may be null
+     * @return String - The normalized text, empty for null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits a text into normalized tokens, leaving stop words out.
+     *
+     * @param text String - The text to tokenize, may be null
+     * @return List<String> - The tokens in text order, repeated tokens included
+     */
+    public static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!isStopWord(word)) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Splits a text into normalized words, stop words included.
+     *
+     * @param text String - The text to split, may be null
+     * @return List<String> - The words in text order
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(normalize(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Tells whether a normalized word is one of the stop words left out of search tokens.
+     *
+     * @param word String - A normalized word
+     * @return boolean - True if the word carries no search signal
+     */
+    public static boolean isStopWord(String word) {
+        return STOP_WORDS.contains(word);
+    }
+}
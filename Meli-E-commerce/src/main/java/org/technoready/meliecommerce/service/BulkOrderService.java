@@ -0,0 +1,206 @@
+package org.technoready.meliecommerce.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.cache.UserStatusIndex;
+import org.technoready.meliecommerce.dto.BulkOrderRequestDTO;
+import org.technoready.meliecommerce.dto.BulkOrderResultDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.BatchTooLargeException;
+import org.technoready.meliecommerce.exception.InactiveResourceException;
+import org.technoready.meliecommerce.exception.InsufficientStockException;
+import org.technoready.meliecommerce.exception.InvalidQuantityException;
+import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.exception.UnavailableProductsException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.outbox.OrderOutbox;
+import org.technoready.meliecommerce.repository.OrderRepository;
+import org.technoready.meliecommerce.repository.UserRepository;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+import org.technoready.meliecommerce.util.MapperUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service class that places many orders in a single request.
+ * Validates every user and product with set-based lookups, prices all orders in memory and
+ * persists them in chunked transactions with JDBC batching. Each entry gets its own result,
+ * so one bad entry never rolls back the rest of the batch. Each created order writes an
+ * ORDER_CREATED event to the outbox in the transaction of its chunk. A request may carry at most
+ * MAX_BATCH_SIZE entries, which bounds the memory and time one request can take.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Timed(ECommerceMetrics.SERVICE_TIMER)
+public class BulkOrderService {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final UserStatusIndex userStatusIndex;
+    private final ProductCatalogCache productCatalogCache;
+    private final OrderPricingService orderPricingService;
+    private final TransactionTemplate transactionTemplate;
+    private final ECommerceMetrics metrics;
+    private final InventoryService inventoryService;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final OrderOutbox orderOutbox;
+
+    private record Entry(int index, Long userId, List<OrderDetailsDTO> details) {}
+
+    /**
+     * Places every requested order, returning one result per entry in request order.
+     *
+     * @param requests List<BulkOrderRequestDTO> - The orders to place
+     * @return List<BulkOrderResultDTO> - Success or failure of each entry
+     * @throws BatchTooLargeException if there are more than MAX_BATCH_SIZE requests
+     */
+    public List<BulkOrderResultDTO> placeOrders(List<BulkOrderRequestDTO> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException(requests.size(), MAX_BATCH_SIZE);
+        }
+        log.info("Placing {} orders in bulk", requests.size());
+
+        BulkOrderResultDTO[] results = new BulkOrderResultDTO[requests.size()];
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        for (BulkOrderRequestDTO request : requests) {
+            if (request.getUserId() != null) {
+                userIds.add(request.getUserId());
+            }
+            for (OrderDetailsDTO detail : detailsOf(request)) {
+                if (detail.getProductId() != null) {
+                    productIds.add(detail.getProductId());
+                }
+            }
+        }
+
+        Map<Long, Boolean> userStatuses = userStatusIndex.getStatuses(userIds);
+        Map<Long, Product> products = productCatalogCache.getAll(productIds);
+
+        List<Entry> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BulkOrderRequestDTO request = requests.get(i);
+            Boolean active = request.getUserId() == null ? null : userStatuses.get(request.getUserId());
+            if (active == null) {
+                results[i] = failure(i, request.getUserId(),
+                        new ResourceNotFoundException("User", "id", request.getUserId()).getMessage());
+            } else if (!active) {
+                results[i] = failure(i, request.getUserId(),
+                        new InactiveResourceException("User", request.getUserId()).getMessage());
+            } else {
+                valid.add(new Entry(i, request.getUserId(), detailsOf(request)));
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            List<Entry> chunk = valid.subList(from, Math.min(from + CHUNK_SIZE, valid.size()));
+            persistChunk(chunk, products, results);
+        }
+
+        long created = Arrays.stream(results).filter(BulkOrderResultDTO::isSuccess).count();
+        metrics.bulkOrdersCreated(created);
+        log.info("Bulk placement finished: {} created, {} failed", created, results.length - created);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Persists a chunk of orders in one transaction. If the transaction fails, every entry
+     * of the chunk is retried in its own transaction so only the offending entries fail.
+     */
+    private void persistChunk(List<Entry> chunk, Map<Long, Product> products, BulkOrderResultDTO[] results) {
+        try {
+            List<BulkOrderResultDTO> chunkResults = transactionTemplate.execute(status -> placeAll(chunk, products));
+            for (BulkOrderResultDTO result : Objects.requireNonNull(chunkResults)) {
+                results[result.getIndex()] = result;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Bulk chunk of {} orders failed, retrying entries one by one: {}", chunk.size(), ex.getMessage());
+            for (Entry entry : chunk) {
+                try {
+                    results[entry.index()] = transactionTemplate.execute(status -> placeAll(List.of(entry), products).get(0));
+                } catch (RuntimeException entryEx) {
+                    log.error("Bulk order entry {} failed: {}", entry.index(), entryEx.getMessage());
+                    results[entry.index()] = failure(entry.index(), entry.userId(), "Could not persist order");
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the entries in the current transaction and writes an ORDER_CREATED event for each
+     * created order. The orders are flushed first, in one JDBC batch, so the events carry the
+     * creation timestamp set on insert.
+     */
+    private List<BulkOrderResultDTO> placeAll(List<Entry> entries, Map<Long, Product> products) {
+        List<Order> created = new ArrayList<>(entries.size());
+        List<BulkOrderResultDTO> placed = entries.stream().map(entry -> placeOne(entry, products, created)).toList();
+        orderRepository.flush();
+        for (Order order : created) {
+            orderOutbox.record(OrderOutboxEvent.Type.ORDER_CREATED, MapperUtil.toDTO(order));
+        }
+        return placed;
+    }
+
+    private BulkOrderResultDTO placeOne(Entry entry, Map<Long, Product> products, List<Order> created) {
+        Order order = new Order();
+        order.setUser(userRepository.getReferenceById(entry.userId()));
+
+        OrderPricingService.PricedOrder priced;
+        try {
+            priced = orderPricingService.price(order, entry.details(), products);
+            inventoryService.reserve(InventoryService.quantitiesOf(priced.details()));
+        } catch (InvalidQuantityException | UnavailableProductsException | InsufficientStockException ex) {
+            return failure(entry.index(), entry.userId(), ex.getMessage());
+        }
+
+        order.setDetails(priced.details());
+        order.setTotal(priced.total());
+        Order savedOrder = orderRepository.save(order);
+        productAutocompleteIndex.recordOrderAfterCommit(Map.of(), ProductAutocompleteIndex.unitsOf(priced.details()));
+        created.add(savedOrder);
+
+        return BulkOrderResultDTO.builder()
+                .index(entry.index())
+                .userId(entry.userId())
+                .success(true)
+                .orderId(savedOrder.getId())
+                .total(savedOrder.getTotal())
+                .build();
+    }
+
+    private static List<OrderDetailsDTO> detailsOf(BulkOrderRequestDTO request) {
+        return request.getDetails() == null ? List.of() : request.getDetails();
+    }
+
+    private static BulkOrderResultDTO failure(int index, Long userId, String error) {
+        return BulkOrderResultDTO.builder()
+                .index(index)
+                .userId(userId)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
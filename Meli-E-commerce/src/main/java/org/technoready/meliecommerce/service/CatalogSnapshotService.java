@@ -0,0 +1,288 @@
+package org.technoready.meliecommerce.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.dto.SuccessResponseDTO;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service class that keeps the active product catalog as ready-to-send JSON.
+ * Every page of GET /api/products?activeOnly=true at the default page size is encoded once,
+ * as plain and gzip bytes, by a background thread; requests for those pages copy the bytes
+ * to the response instead of querying and serializing. Each page keeps the ETag of the rows it
+ * was encoded from and is only served while the database still gives the page that ETag, so a
+ * product or stock change, made here, on another node or in the database, makes requests for
+ * that page fall back to the query path until the rebuild finishes.
+ * Changes are collected from the product catalog cache and from pages found out of date, and
+ * applied after a short delay, so a burst of orders costs one rebuild, and a rebuild re-reads
+ * only the pages holding a changed product. Pages after a product that joined or left the catalog shift and are re-read as well,
+ * like the whole catalog on the first build, in keyset batches of READ_BATCH products.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotService {
+
+    private static final String FIRST_PAGE = "";
+    private static final int READ_BATCH = 10 * CursorPage.DEFAULT_SIZE;
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration rebuildDelay;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private final Map<String, Page> stalePages = new ConcurrentHashMap<>();
+    private final AtomicBoolean catalogChanged = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * One encoded page of the active catalog.
+     *
+     * @param json byte[] - The SuccessResponseDTO of the page as UTF-8 JSON
+     * @param gzip byte[] - The same JSON, gzip compressed
+     */
+    public record EncodedPage(byte[] json, byte[] gzip) {}
+
+    /**
+     * A page together with the range of IDs it covers: after afterId up to lastId,
+     * or without an upper bound when it is the last page, and the ETag of its rows.
+     */
+    private record Page(long afterId, long lastId, String nextCursor, String eTag, EncodedPage encoded) {}
+
+    private record Snapshot(Map<String, Page> pagesByCursor) {}
+
+    public CatalogSnapshotService(ProductRepository productRepository,
+                                  ProductCatalogCache productCatalogCache,
+                                  ObjectMapper objectMapper,
+                                  @Value("${catalog.snapshot.enabled:true}") boolean enabled,
+                                  @Value("${catalog.snapshot.rebuild-delay:250ms}") Duration rebuildDelay) {
+        this.productRepository = productRepository;
+        this.productCatalogCache = productCatalogCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.rebuildDelay = rebuildDelay;
+        if (enabled) {
+            productCatalogCache.onChange(this::productsChanged);
+        }
+    }
+
+    /**
+     * Builds the first snapshot once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Returns the encoded page of active products after the given cursor, if the snapshot
+     * holds it with the given ETag. A missing snapshot or an out-of-date page schedules a rebuild.
+     *
+     * @param cursor String - Cursor of the requested page, or null for the first page
+     * @param size int - Requested page size; only CursorPage.DEFAULT_SIZE is pre-encoded
+     * @param eTag String - ETag the page has in the database now, which labels the response
+     * @return Optional<EncodedPage> - The page, or empty if it must be queried
+     */
+    public Optional<EncodedPage> activePage(String cursor, int size, String eTag) {
+        if (!enabled || size != CursorPage.DEFAULT_SIZE) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            scheduleRebuild();
+            return Optional.empty();
+        }
+        String key = cursor == null ? FIRST_PAGE : cursor;
+        Page page = current.pagesByCursor().get(key);
+        if (page == null || !page.eTag().equals(eTag)) {
+            // Changed without going through this instance, e.g. on another node: re-read it next time
+            if (page != null) {
+                stalePages.put(key, page);
+                scheduleRebuild();
+            }
+            return Optional.empty();
+        }
+        return Optional.of(page.encoded());
+    }
+
+    /**
+     * Records the products that changed and queues a rebuild.
+     * An empty collection means any product may have changed.
+     *
+     * @param ids Collection<Long> - The IDs of the changed products
+     */
+    private void productsChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            catalogChanged.set(true);
+        } else {
+            changedIds.addAll(ids);
+        }
+        scheduleRebuild();
+    }
+
+    /**
+     * Queues a rebuild of the snapshot on the background thread after the rebuild delay.
+     * Calls made while a rebuild is already queued are merged into it.
+     */
+    private void scheduleRebuild() {
+        if (enabled && rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.schedule(this::rebuild, rebuildDelay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void rebuild() {
+        rebuildQueued.set(false);
+        try {
+            TreeSet<Long> changed = new TreeSet<>();
+            for (Iterator<Long> it = changedIds.iterator(); it.hasNext(); ) {
+                changed.add(it.next());
+                it.remove();
+            }
+            Map<String, Page> stale = new HashMap<>();
+            for (Iterator<Map.Entry<String, Page>> it = stalePages.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, Page> entry = it.next();
+                stale.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            Snapshot previous = catalogChanged.getAndSet(false) ? null : snapshot;
+
+            Map<String, Page> pages = new HashMap<>();
+            Batch batch = new Batch();
+            String cursor = FIRST_PAGE;
+            int reread = 0;
+            while (cursor != null) {
+                Page page = previous == null ? null : previous.pagesByCursor().get(cursor);
+                // A page found stale is only re-read if no rebuild has replaced it since
+                if (page == null || stale.get(cursor) == page || holdsAny(page, changed)) {
+                    // A changed page is read alone; a page with no counterpart starts a run of shifted pages
+                    page = batch.read(cursor, page == null ? READ_BATCH : CursorPage.DEFAULT_SIZE + 1);
+                    reread++;
+                } else {
+                    batch.clear();
+                }
+                pages.put(cursor, page);
+                cursor = page.nextCursor();
+            }
+
+            snapshot = new Snapshot(pages);
+            log.info("Catalog snapshot rebuilt: {} pages, {} re-read in {} queries",
+                    pages.size(), reread, batch.queries);
+        } catch (RuntimeException ex) {
+            // The collected changes are lost with this snapshot, so the next rebuild starts over
+            snapshot = null;
+            log.error("Catalog snapshot rebuild failed, requests keep using the query path: {}", ex.getMessage());
+        }
+    }
+
+    private static boolean holdsAny(Page page, TreeSet<Long> ids) {
+        Long next = ids.higher(page.afterId());
+        return next != null && (page.nextCursor() == null || next <= page.lastId());
+    }
+
+    /**
+     * Active products read ahead of the page being rebuilt, so consecutive pages share queries.
+     */
+    private final class Batch {
+
+        private final List<Product> rows = new ArrayList<>();
+        private boolean exhausted;
+        private int queries;
+
+        /**
+         * Reads and encodes the page after the cursor, querying up to limit more products when
+         * fewer than a page and one are read ahead. Rows read ahead always follow the cursor.
+         */
+        Page read(String cursor, int limit) {
+            long afterId = CursorPage.decode(cursor);
+            if (!exhausted && rows.size() <= CursorPage.DEFAULT_SIZE) {
+                long from = rows.isEmpty() ? afterId : rows.get(rows.size() - 1).getId();
+                List<Product> more = productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(from, Limit.of(limit));
+                exhausted = more.size() < limit;
+                rows.addAll(more);
+                queries++;
+            }
+            List<Product> fetched = rows.subList(0, Math.min(CursorPage.DEFAULT_SIZE + 1, rows.size()));
+            CursorPage<Product> page = CursorPage.of(new ArrayList<>(fetched), CursorPage.DEFAULT_SIZE, Product::getId);
+            rows.subList(0, page.items().size()).clear();
+
+            long lastId = page.items().isEmpty() ? afterId : page.items().get(page.items().size() - 1).getId();
+            return new Page(afterId, lastId, page.nextCursor(), ProductService.pageTag(page), encode(page));
+        }
+
+        /**
+         * Drops the rows read ahead when the rebuild skips past them.
+         */
+        void clear() {
+            rows.clear();
+            exhausted = false;
+        }
+    }
+
+    private EncodedPage encode(CursorPage<Product> page) {
+        SuccessResponseDTO<List<Product>> response = SuccessResponseDTO.of(
+                HttpStatus.OK.value(),
+                String.format("Retrieved %d active products successfully", page.items().size()),
+                page.items(),
+                page.nextCursor()
+        );
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new EncodedPage(json, compressed.toByteArray());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Stops the background thread on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
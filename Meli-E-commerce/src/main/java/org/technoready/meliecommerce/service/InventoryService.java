@@ -0,0 +1,134 @@
+package org.technoready.meliecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.entity.OrderDetails;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InsufficientStockException;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service class that reserves and releases product stock for orders.
+ * Each product is decremented with a conditional UPDATE (stock >= quantity) instead of read-check-write,
+ * so the database row lock is the only coordination between concurrent buyers of a hot product and
+ * stock can never go negative. Products are always touched in ID order so two orders sharing
+ * products cannot deadlock each other.
+ * Runs inside the caller's transaction when there is one.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+
+    /**
+     * Reserves the given quantities. Either every product is reserved or none is: when a product has
+     * too little stock, the reservations already made are given back before the exception is thrown.
+     *
+     * @param quantities Map<Long, Integer> - Units to reserve per product ID
+     * @throws InsufficientStockException if any product has less stock than requested
+     */
+    public void reserve(Map<Long, Integer> quantities) {
+        Map<Long, Integer> reserved = new HashMap<>();
+        List<Long> insufficient = new ArrayList<>();
+
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            if (line.getValue() <= 0) {
+                continue;
+            }
+            if (productRepository.reserveStock(line.getKey(), line.getValue()) == 1) {
+                reserved.put(line.getKey(), line.getValue());
+            } else {
+                insufficient.add(line.getKey());
+            }
+        }
+
+        if (!insufficient.isEmpty()) {
+            log.warn("Insufficient stock for products {}, releasing {} reserved lines", insufficient, reserved.size());
+            release(reserved);
+            throw new InsufficientStockException(insufficient);
+        }
+        productCatalogCache.evictAfterCommit(reserved.keySet());
+    }
+
+    /**
+     * Gives the given quantities back to stock.
+     *
+     * @param quantities Map<Long, Integer> - Units to release per product ID
+     */
+    public void release(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            if (line.getValue() > 0) {
+                productRepository.releaseStock(line.getKey(), line.getValue());
+            }
+        }
+        productCatalogCache.evictAfterCommit(quantities.keySet());
+    }
+
+    /**
+     * Moves stock from the previous quantities of an order to its new ones, reserving only the increases
+     * and releasing only the decreases.
+     *
+     * @param previous Map<Long, Integer> - Units per product ID the order held so far
+     * @param updated Map<Long, Integer> - Units per product ID the order holds now
+     * @throws InsufficientStockException if any increase cannot be reserved; nothing is changed in that case
+     */
+    public void adjust(Map<Long, Integer> previous, Map<Long, Integer> updated) {
+        Map<Long, Integer> increases = new HashMap<>();
+        Map<Long, Integer> decreases = new HashMap<>();
+
+        for (Map.Entry<Long, Integer> line : updated.entrySet()) {
+            int delta = line.getValue() - previous.getOrDefault(line.getKey(), 0);
+            if (delta > 0) {
+                increases.put(line.getKey(), delta);
+            } else if (delta < 0) {
+                decreases.put(line.getKey(), -delta);
+            }
+        }
+        for (Map.Entry<Long, Integer> line : previous.entrySet()) {
+            if (!updated.containsKey(line.getKey())) {
+                decreases.put(line.getKey(), line.getValue());
+            }
+        }
+
+        reserve(increases);
+        release(decreases);
+    }
+
+    /**
+     * Sums the quantities of order details per product ID.
+     * Lines whose product does not track stock, as recorded when they were priced or seen on a loaded
+     * product, are left out, so untracked products cost no UPDATE; products that are still lazy proxies
+     * are kept, since releasing them is a no-op anyway.
+     *
+     * @param details List<OrderDetails> - Lines of an order
+     * @return Map<Long, Integer> - Units per product ID
+     */
+    public static Map<Long, Integer> quantitiesOf(List<OrderDetails> details) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderDetails detail : details) {
+            Product product = detail.getProduct();
+            if (Boolean.FALSE.equals(detail.getStockTracked())
+                    || Hibernate.isInitialized(product) && product.getStock() == null) {
+                continue;
+            }
+            quantities.merge(product.getId(), detail.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
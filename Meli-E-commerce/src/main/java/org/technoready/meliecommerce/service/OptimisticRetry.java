@@ -0,0 +1,68 @@
+package org.technoready.meliecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write operations in their own transaction and retries them when a concurrent
+ * writer bumped the entity version first.
+ * Only unconditional writes are retried: they replace the resource with the request body, so
+ * re-reading and re-applying gives the same result the client asked for. A write guarded by
+ * If-Match is tied to the version the client saw and fails on the first conflict instead.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptimisticRetry {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Executes the write in a new transaction, retrying on version conflicts when it is unconditional.
+     *
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional write
+     * @param write Supplier<T> - The read-modify-write to run; must re-read the entity on every call
+     * @return T - The result of the successful attempt
+     * @throws OptimisticLockingFailureException if the conflict persists or the write is conditional
+     */
+    public <T> T execute(Long expectedVersion, Supplier<T> write) {
+        int attempts = expectedVersion == null ? MAX_ATTEMPTS : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= attempts) {
+                    throw ex;
+                }
+                log.warn("Version conflict on attempt {}/{}, retrying: {}", attempt, attempts, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Rejects a conditional write whose If-Match no longer matches the current version.
+     *
+     * @param resourceName String - Name of the resource, for the error message
+     * @param resourceId Object - ID of the resource
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional write
+     * @param currentVersion Long - Version just read from the database
+     * @throws PreconditionFailedException if the versions differ
+     */
+    public static void checkVersion(String resourceName, Object resourceId, Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resourceName, resourceId, currentVersion);
+        }
+    }
+}
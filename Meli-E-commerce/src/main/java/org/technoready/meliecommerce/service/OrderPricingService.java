@@ -0,0 +1,232 @@
+package org.technoready.meliecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.OrderDetails;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InvalidQuantityException;
+import org.technoready.meliecommerce.exception.UnavailableProductsException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service class that prices order lines for order creation and update.
+ * Merges repeated lines, resolves every product through the catalog cache (one query for
+ * all misses) and builds the order detail snapshots and total in one pass. Details point to their
+ * product through a reference of the caller's persistence context, never a cached copy.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderPricingService {
+
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductRepository productRepository;
+    private final ECommerceMetrics metrics;
+
+    /**
+     * Result of pricing a list of order lines.
+     *
+     * @param details List<OrderDetails> - Detail snapshots linked to the priced order
+     * @param total double - Sum of unit price times quantity over every line
+     */
+    public record PricedOrder(List<OrderDetails> details, double total) {}
+
+    /**
+     * Changes that turn the current lines of an order into the requested ones.
+     *
+     * @param added List<OrderDetails> - New detail snapshots for products the order did not have
+     * @param changed List<QuantityChange> - Existing lines whose quantity differs from the request
+     * @param removed List<OrderDetails> - Existing lines for products no longer requested
+     */
+    public record LineChanges(List<OrderDetails> added, List<QuantityChange> changed,
+                              List<OrderDetails> removed) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    /**
+     * New quantity and unit price for an existing order line.
+     *
+     * @param detail OrderDetails - The line to change
+     * @param quantity int - Its new quantity
+     * @param unitPrice double - Its unit price: the current catalog price if the quantity grows,
+     *                  the price it was ordered at otherwise
+     */
+    public record QuantityChange(OrderDetails detail, int quantity, double unitPrice) {}
+
+    /**
+     * Prices the requested lines for the given order.
+     * Lines that reference the same product are merged by adding their quantities.
+     *
+     * @param order Order - The order the detail snapshots belong to
+     * @param detailsRequest List<OrderDetailsDTO> - Requested products and quantities
+     * @return PricedOrder - The detail snapshots and the order total
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     * @throws UnavailableProductsException if any product is not found or is inactive
+     */
+    public PricedOrder price(Order order, List<OrderDetailsDTO> detailsRequest) {
+        List<Long> ids = detailsRequest.stream().map(OrderDetailsDTO::getProductId)
+                .filter(Objects::nonNull).distinct().toList();
+        return price(order, detailsRequest, productCatalogCache.getAll(ids));
+    }
+
+    /**
+     * Prices the requested lines for the given order against already loaded products.
+     * Used when many orders are priced together after a single product lookup.
+     *
+     * @param order Order - The order the detail snapshots belong to
+     * @param detailsRequest List<OrderDetailsDTO> - Requested products and quantities
+     * @param products Map<Long, Product> - Products keyed by ID; absent IDs are reported as not found
+     * @return PricedOrder - The detail snapshots and the order total
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     * @throws UnavailableProductsException if any product is not found or is inactive
+     */
+    public PricedOrder price(Order order, List<OrderDetailsDTO> detailsRequest, Map<Long, Product> products) {
+        Map<Long, Integer> quantities = mergeLines(detailsRequest);
+        log.info("Pricing {} lines ({} distinct products)", detailsRequest.size(), quantities.size());
+
+        List<Long> missingIds = new ArrayList<>();
+        List<Long> inactiveIds = new ArrayList<>();
+        List<OrderDetails> details = new ArrayList<>(quantities.size());
+        double total = 0;
+
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                missingIds.add(line.getKey());
+                continue;
+            }
+            if (!product.isActive()) {
+                inactiveIds.add(line.getKey());
+                continue;
+            }
+
+            OrderDetails detail = new OrderDetails();
+            detail.setOrder(order);
+            detail.setProduct(productRepository.getReferenceById(product.getId()));
+            detail.setStockTracked(product.getStock() != null);
+            detail.setProductName(product.getName());
+            detail.setDescriptionSnap(product.getDescription());
+            detail.setQuantity(line.getValue());
+            detail.setUnitPrice(product.getPrice());
+
+            total += product.getPrice() * line.getValue();
+            details.add(detail);
+        }
+
+        if (!missingIds.isEmpty() || !inactiveIds.isEmpty()) {
+            log.error("Unavailable products - not found: {}, inactive: {}", missingIds, inactiveIds);
+            throw new UnavailableProductsException(missingIds, inactiveIds);
+        }
+
+        metrics.linesPriced(details.size());
+        return new PricedOrder(details, total);
+    }
+
+    /**
+     * Compares the requested lines with the current lines of an order, by product ID.
+     * Unchanged lines are left alone and lines whose quantity shrinks keep the unit price snapshot
+     * they were ordered at. New lines and lines whose quantity grows are priced from the catalog,
+     * so added units are never charged at an older price; a line has a single unit price, so a
+     * grown line is repriced as a whole. Products are looked up (and must be active) only for
+     * those lines.
+     *
+     * @param order Order - The order being edited, with its details loaded
+     * @param detailsRequest List<OrderDetailsDTO> - The complete list of requested lines
+     * @return LineChanges - The lines to insert, update and delete
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     * @throws UnavailableProductsException if a product to add or increase is not found or is inactive
+     */
+    public LineChanges diff(Order order, List<OrderDetailsDTO> detailsRequest) {
+        Map<Long, Integer> requested = mergeLines(detailsRequest);
+        Map<Long, OrderDetails> current = new HashMap<>();
+        List<OrderDetails> removed = new ArrayList<>();
+        List<QuantityChange> changed = new ArrayList<>();
+
+        for (OrderDetails detail : order.getDetails()) {
+            Long productId = detail.getProduct().getId();
+            if (!requested.containsKey(productId) || current.putIfAbsent(productId, detail) != null) {
+                removed.add(detail);
+            }
+        }
+
+        List<Long> lookupIds = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : requested.entrySet()) {
+            OrderDetails detail = current.get(line.getKey());
+            if (detail == null || line.getValue() > detail.getQuantity()) {
+                lookupIds.add(line.getKey());
+            }
+        }
+        Map<Long, Product> products = lookupIds.isEmpty() ? Map.of() : productCatalogCache.getAll(lookupIds);
+
+        List<Long> missingIds = new ArrayList<>();
+        List<Long> inactiveIds = new ArrayList<>();
+        Map<Long, Integer> newLines = new LinkedHashMap<>();
+        for (Long productId : lookupIds) {
+            Product product = products.get(productId);
+            if (product == null) {
+                missingIds.add(productId);
+            } else if (!product.isActive()) {
+                inactiveIds.add(productId);
+            } else if (!current.containsKey(productId)) {
+                newLines.put(productId, requested.get(productId));
+            }
+        }
+        if (!missingIds.isEmpty() || !inactiveIds.isEmpty()) {
+            log.error("Unavailable products - not found: {}, inactive: {}", missingIds, inactiveIds);
+            throw new UnavailableProductsException(missingIds, inactiveIds);
+        }
+
+        for (Map.Entry<Long, OrderDetails> line : current.entrySet()) {
+            OrderDetails detail = line.getValue();
+            int quantity = requested.get(line.getKey());
+            if (quantity > detail.getQuantity()) {
+                changed.add(new QuantityChange(detail, quantity, products.get(line.getKey()).getPrice()));
+            } else if (quantity < detail.getQuantity()) {
+                changed.add(new QuantityChange(detail, quantity, detail.getUnitPrice()));
+            }
+        }
+
+        PricedOrder priced = price(order, newLines.entrySet().stream()
+                .map(line -> new OrderDetailsDTO(line.getKey(), line.getValue())).toList(), products);
+        log.info("Order diff: {} added, {} changed, {} removed", priced.details().size(), changed.size(), removed.size());
+        return new LineChanges(priced.details(), changed, removed);
+    }
+
+    /**
+     * Merges lines by product ID, keeping the order in which products first appear. Every line
+     * must ask for at least one unit, otherwise it would be priced and stocked as a negative sale.
+     *
+     * @param detailsRequest List<OrderDetailsDTO> - Requested products and quantities
+     * @return Map<Long, Integer> - Total quantity per product ID
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     */
+    private Map<Long, Integer> mergeLines(List<OrderDetailsDTO> detailsRequest) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderDetailsDTO detailReq : detailsRequest) {
+            if (detailReq.getQuantity() <= 0) {
+                throw new InvalidQuantityException(detailReq.getProductId(), detailReq.getQuantity());
+            }
+            quantities.merge(detailReq.getProductId(), detailReq.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
@@ -1,25 +1,43 @@
 package org.technoready.meliecommerce.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.UserStatusIndex;
 import org.technoready.meliecommerce.dto.OrderDetailsDTO;
 import org.technoready.meliecommerce.dto.OrderResponseDTO;
 import org.technoready.meliecommerce.entity.Order;
 import org.technoready.meliecommerce.entity.OrderDetails;
-import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
 import org.technoready.meliecommerce.entity.User;
 import org.technoready.meliecommerce.exception.InactiveResourceException;
+import org.technoready.meliecommerce.exception.InsufficientStockException;
+import org.technoready.meliecommerce.exception.InvalidQuantityException;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.exception.UnavailableProductsException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.outbox.OrderOutbox;
 import org.technoready.meliecommerce.repository.OrderRepository;
-import org.technoready.meliecommerce.repository.ProductRepository;
 import org.technoready.meliecommerce.repository.UserRepository;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+import org.technoready.meliecommerce.util.CursorPage;
 import org.technoready.meliecommerce.util.MapperUtil;
 
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service class that handles business logic for order operations.
@@ -33,72 +51,134 @@ import java.util.Optional;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(ECommerceMetrics.SERVICE_TIMER)
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final OrderPricingService orderPricingService;
+    private final EntityManager entityManager;
+    private final UserStatusIndex userStatusIndex;
+    private final ECommerceMetrics metrics;
+    private final InventoryService inventoryService;
+    private final OptimisticRetry optimisticRetry;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final OrderOutbox orderOutbox;
 
 
     /**
      * Creates a new order for the specified user with the provided order details.
      * Calculates the total price based on product prices and quantities.
+     * An ORDER_CREATED event is written to the outbox in the same transaction.
      *
      * @param userId Long - The ID of the user creating the order
      * @param detailsRequest List<OrderDetailsDTO> - Details of products and quantities to order
      * @return Order - The created order entity
-     * @throws ResourceNotFoundException if user or product is not found
+     * @throws ResourceNotFoundException if user is not found
+     * @throws InactiveResourceException if the user is inactive
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     * @throws UnavailableProductsException if any product is not found or is inactive
+     * @throws InsufficientStockException if any product has less stock than requested
      */
     @Transactional
     public Order createOrder(Long userId, List<OrderDetailsDTO> detailsRequest) {
         log.info("Creating order for user {}", userId);
 
         User user =  validateUserId(userId);
+        if (!userStatusIndex.isActive(userId).orElse(false)) {
+            log.error("Cannot create order for inactive user with id {}", userId);
+            throw new InactiveResourceException("User", userId);
+        }
 
         Order order = new Order();
         order.setUser(user);
 
-        List<OrderDetails> details = new ArrayList<>();
-        double total = 0;
+        OrderPricingService.PricedOrder priced = orderPricingService.price(order, detailsRequest);
+        inventoryService.reserve(InventoryService.quantitiesOf(priced.details()));
+        order.setDetails(priced.details());
+        order.setTotal(priced.total());
 
-        for (OrderDetailsDTO detailReq : detailsRequest) {
-            Product product = productRepository.findById(detailReq.getProductId())
-                    .orElseThrow(() -> {
-                        log.error("Product not found with id: {}", detailReq.getProductId());
-                        return new ResourceNotFoundException("Product", "id", detailReq.getProductId());
-                    });
+        Order savedOrder = orderRepository.save(order);
+        // Flushed before the event is written, so its payload has the creation timestamp set on insert
+        orderRepository.flush();
+        productAutocompleteIndex.recordOrderAfterCommit(Map.of(), ProductAutocompleteIndex.unitsOf(priced.details()));
+        orderOutbox.record(OrderOutboxEvent.Type.ORDER_CREATED, MapperUtil.toDTO(savedOrder));
+        metrics.orderCreated();
+        log.info("Order created with id {}", savedOrder.getId());
 
-            OrderDetails detail = new OrderDetails();
-            detail.setOrder(order);
-            detail.setProduct(product);
-            detail.setProductName(product.getName());
-            detail.setDescriptionSnap(product.getDescription());
-            detail.setQuantity(detailReq.getQuantity());
-            detail.setUnitPrice(product.getPrice());
+        return savedOrder;
+    }
 
-            total += product.getPrice() * detailReq.getQuantity();
-            details.add(detail);
-        }
+    /**
+     * Retrieves one page of orders ordered by ID.
+     * The page IDs are selected first, then the orders are loaded with their details in one query.
+     *
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of orders in the page
+     * @return CursorPage<Order> - The orders of the page and the cursor of the next one
+     */
+    public CursorPage<Order> getOrdersPage(String cursor, int size) {
+        log.info("Getting orders page (size: {})", size);
+        CursorPage<Long> ids = CursorPage.of(
+                orderRepository.findIdsAfter(CursorPage.decode(cursor), Limit.of(size + 1)), size, id -> id);
+        return new CursorPage<>(orderRepository.findByIdInOrderByIdAsc(ids.items()), ids.nextCursor());
+    }
 
-        order.setDetails(details);
-        order.setTotal(total);
+    /**
+     * Retrieves one page of active orders ordered by ID.
+     * The page IDs are selected first, then the orders are loaded with their details in one query.
+     *
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of orders in the page
+     * @return CursorPage<Order> - The active orders of the page and the cursor of the next one
+     */
+    public CursorPage<Order> getActiveOrdersPage(String cursor, int size) {
+        log.info("Getting active orders page (size: {})", size);
+        CursorPage<Long> ids = CursorPage.of(
+                orderRepository.findActiveIdsAfter(CursorPage.decode(cursor), Limit.of(size + 1)), size, id -> id);
+        return new CursorPage<>(orderRepository.findByIdInOrderByIdAsc(ids.items()), ids.nextCursor());
+    }
 
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order created with id {}", savedOrder.getId());
+    /**
+     * Streams every order matching the filters through a database cursor, oldest first.
+     * Each order is mapped and handed to the consumer, then detached so the persistence
+     * context does not grow with the size of the export.
+     *
+     * @param userId Long - Only orders of this user, or null for every user
+     * @param activeOnly boolean - Flag to export only active orders
+     * @param from LocalDateTime - Inclusive lower bound of createdAt, or null
+     * @param to LocalDateTime - Exclusive upper bound of createdAt, or null
+     * @param consumer Consumer<OrderResponseDTO> - Receives each exported order
+     * @return long - Number of exported orders
+     */
+    @Transactional
+    public long exportOrders(Long userId, boolean activeOnly, LocalDateTime from, LocalDateTime to,
+                             Consumer<OrderResponseDTO> consumer) {
+        log.info("Exporting orders (userId: {}, activeOnly: {}, from: {}, to: {})", userId, activeOnly, from, to);
+
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(userId, activeOnly, from, to)) {
+            for (Order order : (Iterable<Order>) orders::iterator) {
+                consumer.accept(MapperUtil.toDTO(order));
+                entityManager.detach(order);
+                if (++count % OrderRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
 
-        return savedOrder;
+        log.info("Exported {} orders", count);
+        return count;
     }
 
     /**
-     * Retrieves all orders from the database.
+     * Retrieves the current version of an order without loading it or its details.
      *
-     * @return List<Order> - List of all orders
+     * @param id Long - The ID of the order
+     * @return Optional<Long> - The version if the order exists, empty otherwise
      */
-    public List<Order> getAllOrders() {
-        log.info("Getting all orders");
-        List<Order> orders = orderRepository.findAll();
-        log.info("Getting {} orders", orders.size());
-        return orders;
+    public Optional<Long> getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id);
     }
 
     /**
@@ -109,7 +189,7 @@ public class OrderService {
      */
     public Optional<Order> getOrderById(Long id) {
         log.info("Retrieving order with id: {}", id);
-        Optional<Order> order = orderRepository.findById(id);
+        Optional<Order> order = orderRepository.findWithDetailsById(id);
         if (order.isEmpty()) {
             log.warn("Order not found with id: {}", id);
         }
@@ -118,15 +198,17 @@ public class OrderService {
 
     /**
      * Retrieves all active orders for a specific user.
+     * Orders are built straight from a projection query, without hydrating entities.
      *
      * @param userId Long - The ID of the user
-     * @return List<Order> - List of active orders for the user
+     * @return List<OrderResponseDTO> - List of active orders for the user
      * @throws ResourceNotFoundException if user is not found
      */
-    public List<Order> getOrdersByUserIdActive(Long userId) {
+    public List<OrderResponseDTO> getOrdersByUserIdActive(Long userId) {
         log.info("Retrieving active orders for user with id: {}", userId);
         User user =  validateUserId(userId);
-        List<Order> orders = orderRepository.findByUser_IdAndActiveTrue(user.getId());
+        List<OrderResponseDTO> orders = MapperUtil.toDTOListFromRows(
+                orderRepository.findLineRowsByUserId(user.getId(), true));
 
         if(orders.isEmpty()) {
             log.warn("Not actives orders found for user with id: {}", userId);
@@ -138,15 +220,17 @@ public class OrderService {
 
     /**
      * Retrieves all orders (active and inactive) for a specific user.
+     * Orders are built straight from a projection query, without hydrating entities.
      *
      * @param userId Long - The ID of the user
-     * @return List<Order> - List of all orders for the user
+     * @return List<OrderResponseDTO> - List of all orders for the user
      * @throws ResourceNotFoundException if user is not found
      */
-    public List<Order> getOrdersByUserId(Long userId){
+    public List<OrderResponseDTO> getOrdersByUserId(Long userId){
         log.info("Retrieving all orders for user with id: {}", userId);
         validateUserId(userId);
-        List<Order> orders = orderRepository.findByUserId(userId);
+        List<OrderResponseDTO> orders = MapperUtil.toDTOListFromRows(
+                orderRepository.findLineRowsByUserId(userId, false));
 
         if(orders.isEmpty()) {
             log.warn("Not actives orders found for user with id: {}", userId);
@@ -157,113 +241,141 @@ public class OrderService {
     }
 
     /**
-     * Soft deletes an order by deactivating it.
+     * Soft deletes an order by deactivating it and releasing its reserved stock.
+     * Deactivating an active order writes an ORDER_DELETED event to the outbox in the same transaction.
      *
      * @param id Long - The ID of the order to delete
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional delete
      * @throws ResourceNotFoundException if order is not found
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    public void deleteOrder(Long id) {
+    public void deleteOrder(Long id, Long expectedVersion) {
         log.info("Attempting to delete order with id: {}", id);
 
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot delete - Order not found with id: {}", id);
-                    return new ResourceNotFoundException("Order", "id", id);
-                });
-
-        order.setActive(false);
-        orderRepository.save(order);
+        optimisticRetry.execute(expectedVersion, () -> {
+            Order order = orderRepository.findWithDetailsById(id)
+                    .orElseThrow(() -> {
+                        log.error("Cannot delete - Order not found with id: {}", id);
+                        return new ResourceNotFoundException("Order", "id", id);
+                    });
+            OptimisticRetry.checkVersion("Order", id, expectedVersion, order.getVersion());
+
+            boolean wasActive = order.isActive();
+            if (wasActive) {
+                inventoryService.release(InventoryService.quantitiesOf(order.getDetails()));
+                productAutocompleteIndex.recordOrderAfterCommit(ProductAutocompleteIndex.unitsOf(order.getDetails()), Map.of());
+            }
+            order.setActive(false);
+            Order savedOrder = orderRepository.saveAndFlush(order);
+            if (wasActive) {
+                orderOutbox.record(OrderOutboxEvent.Type.ORDER_DELETED, MapperUtil.toDTO(savedOrder));
+            }
+            return savedOrder;
+        });
         log.info("Order with id: {} has been successfully deactivated", id);
     }
 
-    /**
-     * Retrieves all active orders from the database.
-     *
-     * @return List<Order> - List of active orders
-     */
-    public List<Order> getAllActiveOrders() {
-        log.info("Retrieving all active orders");
-        List<Order> orders = orderRepository.findOrdersByActiveTrue();
-        log.info("Retrieved {} active orders", orders.size());
-        return orders;
-    }
-
     /**
      * Updates an existing order with new order details.
-     * Clears existing details and replaces them with new ones, recalculating the total.
+     * The request is diffed against the current lines by product ID: only changed lines are updated,
+     * new ones inserted and removed ones deleted, and the total is recomputed from the lines.
+     * A change writes an ORDER_UPDATED event to the outbox in the same transaction.
      *
      * @param id Long - The ID of the order to update
      * @param orderDetailsDTO List<OrderDetailsDTO> - New order details
-     * @return OrderResponseDTO - The updated order data transfer object
-     * @throws ResourceNotFoundException if order or product is not found
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional update
+     * @return OrderResponseDTO - The updated order data transfer object with its new version
+     * @throws ResourceNotFoundException if order is not found
+     * @throws InvalidQuantityException if a line has a quantity of zero or less
+     * @throws UnavailableProductsException if any product is not found or is inactive
      * @throws InactiveResourceException if the order is inactive
+     * @throws InsufficientStockException if the added quantities exceed the available stock
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    @Transactional
-    public OrderResponseDTO updateOrder(Long id, List<OrderDetailsDTO> orderDetailsDTO) {
+    public OrderResponseDTO updateOrder(Long id, List<OrderDetailsDTO> orderDetailsDTO, Long expectedVersion) {
         log.info("Attempting to update order with id: {}", id);
 
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot update - Order not found with id: {}", id);
-                    return new ResourceNotFoundException("Order", "id", id);
-                });
-
-        if (!order.isActive()) {
-            log.error("Cannot update inactive order with id: {}", id);
-            throw new InactiveResourceException("Order", id);
-        }
-
-        order.getDetails().clear();
-
-        double total = 0;
-        List<OrderDetails> updatedDetails = new ArrayList<>();
-
-        for (OrderDetailsDTO detailReq : orderDetailsDTO) {
-            Product product = productRepository.findById(detailReq.getProductId())
+        OrderResponseDTO updatedOrder = optimisticRetry.execute(expectedVersion, () -> {
+            Order order = orderRepository.findWithDetailsById(id)
                     .orElseThrow(() -> {
-                        log.error("Product not found with id: {}", detailReq.getProductId());
-                        return new ResourceNotFoundException("Product", "id", detailReq.getProductId());
+                        log.error("Cannot update - Order not found with id: {}", id);
+                        return new ResourceNotFoundException("Order", "id", id);
                     });
-
-            OrderDetails detail = new OrderDetails();
-            detail.setOrder(order);
-            detail.setProduct(product);
-            detail.setProductName(product.getName());
-            detail.setDescriptionSnap(product.getDescription());
-            detail.setQuantity(detailReq.getQuantity());
-            detail.setUnitPrice(product.getPrice());
-
-            total += product.getPrice() * detailReq.getQuantity();
-            updatedDetails.add(detail);
-        }
-
-        order.setDetails(updatedDetails);
-        order.setTotal(total);
-        Order updatedOrder = orderRepository.save(order);
+            OptimisticRetry.checkVersion("Order", id, expectedVersion, order.getVersion());
+
+            if (!order.isActive()) {
+                log.error("Cannot update inactive order with id: {}", id);
+                throw new InactiveResourceException("Order", id);
+            }
+
+            OrderPricingService.LineChanges changes = orderPricingService.diff(order, orderDetailsDTO);
+            if (changes.isEmpty()) {
+                return MapperUtil.toDTO(order);
+            }
+
+            Map<Long, Integer> previousQuantities = InventoryService.quantitiesOf(order.getDetails());
+            Map<Long, Integer> previousUnits = ProductAutocompleteIndex.unitsOf(order.getDetails());
+            applyChanges(order, changes);
+            inventoryService.adjust(previousQuantities, InventoryService.quantitiesOf(order.getDetails()));
+            productAutocompleteIndex.recordOrderAfterCommit(previousUnits, ProductAutocompleteIndex.unitsOf(order.getDetails()));
+            Long previousVersion = order.getVersion();
+            Order savedOrder = orderRepository.saveAndFlush(order);
+            // Line quantities live in order_details, so a change that keeps the total leaves the orders
+            // row clean; bump the version anyway so the ETag of the order moves with its lines
+            if (Objects.equals(savedOrder.getVersion(), previousVersion)) {
+                entityManager.lock(savedOrder, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            }
+            OrderResponseDTO savedDTO = MapperUtil.toDTO(savedOrder);
+            orderOutbox.record(OrderOutboxEvent.Type.ORDER_UPDATED, savedDTO);
+            return savedDTO;
+        });
 
         log.info("Order with id: {} has been successfully updated", id);
 
-        return MapperUtil.toDTO(updatedOrder);
+        return updatedOrder;
     }
 
     /**
-     * Validates that a user exists in the database.
+     * Validates that a user exists, using the user status index instead of loading the entity.
      *
      * @param userId Long - The ID of the user to validate
-     * @return User - The validated user entity
+     * @return User - A reference to the validated user, loaded lazily if ever accessed
      * @throws ResourceNotFoundException if user is not found
      */
     public User validateUserId(Long userId) {
         log.info("Validating user with id {}", userId);
 
-        return userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found with id {}", userId);
-                    return new ResourceNotFoundException("User", "id", userId);
-                });
+        if (userStatusIndex.isActive(userId).isEmpty()) {
+            log.error("User not found with id {}", userId);
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        return userRepository.getReferenceById(userId);
     }
 
+    /**
+     * Applies a line diff to a managed order. Removed lines are deleted through orphan removal and
+     * changed lines are dirty-checked, so the flush writes only the rows that actually changed.
+     * Details are matched by ID rather than equals, which would walk the order graph. The total is
+     * summed again from the lines rather than adjusted, so rounding errors never accumulate over edits.
+     */
+    private static void applyChanges(Order order, OrderPricingService.LineChanges changes) {
+        Set<Long> removedIds = new HashSet<>();
+        for (OrderDetails detail : changes.removed()) {
+            removedIds.add(detail.getId());
+        }
+        order.getDetails().removeIf(detail -> removedIds.contains(detail.getId()));
 
+        for (OrderPricingService.QuantityChange change : changes.changed()) {
+            change.detail().setQuantity(change.quantity());
+            change.detail().setUnitPrice(change.unitPrice());
+        }
+        order.getDetails().addAll(changes.added());
 
+        double total = 0;
+        for (OrderDetails detail : order.getDetails()) {
+            total += detail.getUnitPrice() * detail.getQuantity();
+        }
+        order.setTotal(total);
+    }
 }
 
@@ -1,13 +1,27 @@
 package org.technoready.meliecommerce.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.dto.ProductVersionDTO;
 import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InvalidQueryParameterException;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
 import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.search.ProductAutocompleteIndex;
+import org.technoready.meliecommerce.search.ProductPriceIndex;
+import org.technoready.meliecommerce.search.ProductSearchIndex;
+import org.technoready.meliecommerce.util.CursorPage;
+import org.technoready.meliecommerce.util.ETags;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class that handles business logic for product operations.
@@ -20,38 +34,159 @@ import java.util.List;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(ECommerceMetrics.SERVICE_TIMER)
 public class ProductService {
 
+    public static final int MAX_SEARCH_RESULTS = 100;
+
     private final ProductRepository productRepository;
+    private final ProductCatalogCache productCatalogCache;
+    private final OptimisticRetry optimisticRetry;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final ProductPriceIndex productPriceIndex;
+
+
+    /**
+     * Retrieves one page of products (active and inactive) ordered by ID.
+     *
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of products in the page
+     * @return CursorPage<Product> - The products of the page and the cursor of the next one
+     */
+    public CursorPage<Product> findPage(String cursor, int size) {
+        log.info("Retrieving products page (size: {})", size);
+        List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(size + 1));
+        return CursorPage.of(products, size, Product::getId);
+    }
+
+    /**
+     * Retrieves one page of active products ordered by ID.
+     *
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of products in the page
+     * @return CursorPage<Product> - The active products of the page and the cursor of the next one
+     */
+    public CursorPage<Product> findActivePage(String cursor, int size) {
+        log.info("Retrieving active products page (size: {})", size);
+        List<Product> products = productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(size + 1));
+        return CursorPage.of(products, size, Product::getId);
+    }
+
+    /**
+     * Retrieves one page of active products priced within a range, cheapest first.
+     * The range scan and the pagination run on the in-memory price index; the products of the page
+     * come from the catalog cache, which only loads the ones it is missing.
+     *
+     * @param minPrice Double - Lowest price included, or null for no lower bound
+     * @param maxPrice Double - Highest price included, or null for no upper bound
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of products in the page
+     * @return CursorPage<Product> - The products of the page and the cursor of the next one
+     * @throws InvalidQueryParameterException if a bound is negative or minPrice is above maxPrice
+     */
+    public CursorPage<Product> findActivePageByPrice(Double minPrice, Double maxPrice, String cursor, int size) {
+        log.info("Retrieving active products page by price (min: {}, max: {}, size: {})", minPrice, maxPrice, size);
+        double from = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+        double to = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+        if (from < 0 || Double.isNaN(from)) {
+            throw new InvalidQueryParameterException("minPrice", "must be a number not below 0");
+        }
+        if (to < from || Double.isNaN(to)) {
+            throw new InvalidQueryParameterException("maxPrice", "must be a number not below minPrice");
+        }
+
+        CursorPage<Long> ids = productPriceIndex.page(from, to, cursor, size);
+        Map<Long, Product> products = productCatalogCache.getAll(ids.items());
+
+        List<Product> page = new ArrayList<>(ids.items().size());
+        for (Long id : ids.items()) {
+            Product product = products.get(id);
+            // Skips a product changed between the scan and the cache read, instead of listing it out of order
+            if (product != null && product.isActive() && product.getPrice() != null
+                    && product.getPrice() >= from && product.getPrice() <= to) {
+                page.add(product);
+            }
+        }
+        return new CursorPage<>(page, ids.nextCursor());
+    }
+
+    /**
+     * Searches active products by name and description, most relevant first.
+     * Ranking comes from the in-memory search index and the products from the catalog cache.
+     *
+     * @param query String - Free-text query; accents and case are ignored
+     * @param limit int - Maximum number of products, capped at MAX_SEARCH_RESULTS
+     * @return List<Product> - Matching active products ordered by relevance
+     */
+    public List<Product> search(String query, int limit) {
+        log.info("Searching products (limit: {})", limit);
+        List<ProductSearchIndex.Hit> hits = productSearchIndex.search(query,
+                Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
 
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (ProductSearchIndex.Hit hit : hits) {
+            ids.add(hit.productId());
+        }
+        Map<Long, Product> products = productCatalogCache.getAll(ids);
+
+        List<Product> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null && product.isActive()) {
+                results.add(product);
+            }
+        }
+        log.info("Found {} products", results.size());
+        return results;
+    }
 
     /**
-     * Retrieves all products (active and inactive).
+     * Suggests active products whose name, or a later word of it, starts with the typed prefix,
+     * most ordered first. Answered entirely from the in-memory autocomplete index.
      *
-     * @return List<Product> - List of all products
+     * @param prefix String - What the user typed so far; accents and case are ignored
+     * @param limit int - Maximum number of suggestions, capped at ProductAutocompleteIndex.MAX_SUGGESTIONS
+     * @return List<ProductAutocompleteIndex.Suggestion> - Product IDs and names with their popularity
      */
-    public List<Product> findAll() {
-        log.info("Retrieving all products");
-        List<Product> products = productRepository.findAll();
-        log.info("Retrieved {} products", products.size());
-        return products;
+    public List<ProductAutocompleteIndex.Suggestion> autocomplete(String prefix, int limit) {
+        return productAutocompleteIndex.suggest(prefix,
+                Math.max(1, Math.min(limit, ProductAutocompleteIndex.MAX_SUGGESTIONS)));
     }
 
+    /**
+     * Computes the ETag of a page of products ordered by ID from the IDs and versions of its rows,
+     * read with one query that loads no other column. Lets a conditional request be answered, or a
+     * pre-encoded page be checked, without loading and serializing the page.
+     *
+     * @param activeOnly boolean - Whether the page lists only active products
+     * @param cursor String - Cursor of the page, or null for the first page
+     * @param size int - Maximum number of products in the page
+     * @return String - The ETag the page has in the database now
+     */
+    public String pageTag(boolean activeOnly, String cursor, int size) {
+        long afterId = CursorPage.decode(cursor);
+        List<ProductVersionDTO> rows = activeOnly
+                ? productRepository.findActiveVersionsAfter(afterId, Limit.of(size + 1))
+                : productRepository.findVersionsAfter(afterId, Limit.of(size + 1));
+        return ETags.ofPage(rows.subList(0, Math.min(size, rows.size())), rows.size() > size);
+    }
 
     /**
-     * Retrieves only active products.
+     * Computes the ETag of a page of products already loaded, from the IDs and versions of its rows.
      *
-     * @return List<Product> - List of active products
+     * @param page CursorPage<Product> - The page
+     * @return String - The ETag of the page
      */
-    public List<Product> findAllByIsActiveTrue() {
-        log.info("Retrieving all active products");
-        List<Product> products = productRepository.findByActiveTrue();
-        log.info("Retrieved {} active products", products.size());
-        return products;
+    public static String pageTag(CursorPage<Product> page) {
+        return ETags.ofPage(page.items().stream().map(ProductVersionDTO::of).toList(), page.nextCursor() != null);
     }
 
     /**
      * Retrieves a specific product by its ID.
+     * Served from the product catalog cache when possible.
      *
      * @param id Long - The ID of the product
      * @return Product - The product entity
@@ -59,7 +194,7 @@ public class ProductService {
      */
     public Product findById(Long id) {
         log.info("Retrieving product with id: {}", id);
-        return productRepository.findById(id)
+        return productCatalogCache.get(id)
                 .orElseThrow(() -> {
                     log.error("Product not found with id: {}", id);
                     return new ResourceNotFoundException("Product", "id", id);
@@ -75,6 +210,10 @@ public class ProductService {
     public Product save(Product product) {
         log.info("Creating new product: {}", product.getName());
         Product savedProduct = productRepository.save(product);
+        productCatalogCache.invalidate(savedProduct.getId());
+        productSearchIndex.index(savedProduct);
+        productAutocompleteIndex.index(savedProduct);
+        productPriceIndex.index(savedProduct);
         log.info("Product created successfully with id: {}", savedProduct.getId());
         return savedProduct;
     }
@@ -84,19 +223,28 @@ public class ProductService {
      * Soft deletes a product by deactivating it.
      *
      * @param id Long - The ID of the product to delete
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional delete
      * @throws ResourceNotFoundException if product is not found
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    public void delete(Long id) {
+    public void delete(Long id, Long expectedVersion) {
         log.info("Attempting to delete product with id: {}", id);
 
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot delete - Product not found with id: {}", id);
-                    return new ResourceNotFoundException("Product", "id", id);
-                });
+        Product deactivatedProduct = optimisticRetry.execute(expectedVersion, () -> {
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Cannot delete - Product not found with id: {}", id);
+                        return new ResourceNotFoundException("Product", "id", id);
+                    });
+            OptimisticRetry.checkVersion("Product", id, expectedVersion, product.getVersion());
 
-        product.setActive(false);
-        productRepository.save(product);
+            product.setActive(false);
+            return productRepository.saveAndFlush(product);
+        });
+        productCatalogCache.invalidate(id);
+        productSearchIndex.index(deactivatedProduct);
+        productAutocompleteIndex.index(deactivatedProduct);
+        productPriceIndex.index(deactivatedProduct);
         log.info("Product with id: {} has been successfully deactivated", id);
     }
 
@@ -106,24 +254,35 @@ public class ProductService {
      *
      * @param product Product - The product with updated data
      * @param id Long - The ID of the product to update
-     * @return Product - The updated product entity
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional update
+     * @return Product - The updated product entity with its new version
      * @throws ResourceNotFoundException if product is not found
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    public Product update(Product product, Long id) {
+    public Product update(Product product, Long id, Long expectedVersion) {
         log.info("Attempting to update product with id: {}", id);
 
-        Product existingProduct = productRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot update - Product not found with id: {}", id);
-                    return new ResourceNotFoundException("Product", "id", id);
-                });
-
-        existingProduct.setName(product.getName());
-        existingProduct.setPrice(product.getPrice());
-        existingProduct.setDescription(product.getDescription());
-        existingProduct.setActive(product.isActive());
+        Product updatedProduct = optimisticRetry.execute(expectedVersion, () -> {
+            Product existingProduct = productRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Cannot update - Product not found with id: {}", id);
+                        return new ResourceNotFoundException("Product", "id", id);
+                    });
+            OptimisticRetry.checkVersion("Product", id, expectedVersion, existingProduct.getVersion());
 
-        Product updatedProduct = productRepository.save(existingProduct);
+            existingProduct.setName(product.getName());
+            existingProduct.setPrice(product.getPrice());
+            existingProduct.setDescription(product.getDescription());
+            existingProduct.setActive(product.isActive());
+            if (product.getStock() != null) {
+                existingProduct.setStock(product.getStock());
+            }
+            return productRepository.saveAndFlush(existingProduct);
+        });
+        productCatalogCache.invalidate(id);
+        productSearchIndex.index(updatedProduct);
+        productAutocompleteIndex.index(updatedProduct);
+        productPriceIndex.index(updatedProduct);
         log.info("Product with id: {} has been successfully updated", id);
 
         return updatedProduct;
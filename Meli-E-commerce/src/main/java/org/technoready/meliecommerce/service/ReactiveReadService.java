@@ -0,0 +1,116 @@
+package org.technoready.meliecommerce.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.dto.OrderLineRowDTO;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.dto.ProductDTO;
+import org.technoready.meliecommerce.dto.UserDTO;
+import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.repository.ReactiveReadRepository;
+import org.technoready.meliecommerce.util.MapperUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service class for the non-blocking read side of products, users and orders.
+ * Nothing here blocks a thread: results are emitted as R2DBC decodes them and the subscriber's
+ * demand is propagated down to the driver, so slow clients slow the query instead of buffering it.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    private final ReactiveReadRepository reactiveReadRepository;
+
+    /**
+     * Streams all products or only active products.
+     *
+     * @param activeOnly boolean - Flag to stream only active products
+     * @return Flux<ProductDTO> - The products ordered by ID
+     */
+    public Flux<ProductDTO> findProducts(boolean activeOnly) {
+        log.info("Streaming products (activeOnly: {})", activeOnly);
+        return reactiveReadRepository.findProducts(activeOnly);
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param id Long - The ID of the product
+     * @return Mono<ProductDTO> - The product
+     * @throws ResourceNotFoundException signalled if the product is not found
+     */
+    public Mono<ProductDTO> findProductById(Long id) {
+        log.info("Finding product {} reactively", id);
+        return reactiveReadRepository.findProductById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Product", "id", id)));
+    }
+
+    /**
+     * Streams all users or only active users.
+     *
+     * @param activeOnly boolean - Flag to stream only active users
+     * @return Flux<UserDTO> - The users ordered by ID
+     */
+    public Flux<UserDTO> findUsers(boolean activeOnly) {
+        log.info("Streaming users (activeOnly: {})", activeOnly);
+        return reactiveReadRepository.findUsers(activeOnly);
+    }
+
+    /**
+     * Finds a user by its ID.
+     *
+     * @param id Long - The ID of the user
+     * @return Mono<UserDTO> - The user
+     * @throws ResourceNotFoundException signalled if the user is not found
+     */
+    public Mono<UserDTO> findUserById(Long id) {
+        log.info("Finding user {} reactively", id);
+        return reactiveReadRepository.findUserById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "id", id)));
+    }
+
+    /**
+     * Streams the orders of a user with their details. The lines come from a single query and
+     * each order is emitted as soon as its last line has been read.
+     *
+     * @param userId Long - The ID of the user
+     * @param activeOnly boolean - Flag to stream only active orders
+     * @return Flux<OrderResponseDTO> - The orders ordered by ID
+     */
+    public Flux<OrderResponseDTO> findOrdersByUserId(Long userId, boolean activeOnly) {
+        log.info("Streaming orders of user {} (activeOnly: {})", userId, activeOnly);
+        return reactiveReadRepository.findOrderLinesByUserId(userId, activeOnly)
+                .bufferUntilChanged(OrderLineRowDTO::orderId)
+                .map(ReactiveReadService::toOrder);
+    }
+
+    /**
+     * Finds an order by its ID with its details.
+     *
+     * @param id Long - The ID of the order
+     * @return Mono<OrderResponseDTO> - The order
+     * @throws ResourceNotFoundException signalled if the order is not found
+     */
+    public Mono<OrderResponseDTO> findOrderById(Long id) {
+        log.info("Finding order {} reactively", id);
+        return reactiveReadRepository.findOrderLinesById(id)
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(ReactiveReadService::toOrder)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order", "id", id)));
+    }
+
+    private static OrderResponseDTO toOrder(List<OrderLineRowDTO> rows) {
+        return MapperUtil.toDTOListFromRows(rows).get(0);
+    }
+}
@@ -1,11 +1,17 @@
 package org.technoready.meliecommerce.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.technoready.meliecommerce.cache.UserStatusIndex;
 import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
 import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
 import org.technoready.meliecommerce.repository.UserRepository;
+import org.technoready.meliecommerce.util.CursorPage;
 
 import java.util.List;
 
@@ -20,32 +26,39 @@ import java.util.List;
 @Service
 @Slf4j
 @RequiredArgsConstructor
+@Timed(ECommerceMetrics.SERVICE_TIMER)
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserStatusIndex userStatusIndex;
+    private final OptimisticRetry optimisticRetry;
 
     /**
-     * Retrieves all users (active and inactive).
+     * Retrieves one page of users (active and inactive) ordered by ID.
      *
-     * @return List<User> - List of all users
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of users in the page
+     * @return CursorPage<User> - The users of the page and the cursor of the next one
      */
-    public List<User> findAll() {
-        log.info("Retrieving all users");
-        List<User> users = userRepository.findAll();
-        log.info("Retrieved {} users", users.size());
-        return users;
+    public CursorPage<User> findPage(String cursor, int size) {
+        log.info("Retrieving users page (size: {})", size);
+        List<User> users = userRepository.findAllByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(size + 1));
+        return CursorPage.of(users, size, User::getId);
     }
 
     /**
-     * Retrieves only active users.
+     * Retrieves one page of active users ordered by ID.
      *
-     * @return List<User> - List of active users
+     * @param cursor String - Cursor returned by the previous page, or null for the first page
+     * @param size int - Maximum number of users in the page
+     * @return CursorPage<User> - The active users of the page and the cursor of the next one
      */
-    public List<User> findAllIsActive() {
-        log.info("Retrieving all active users");
-        List<User> users = userRepository.findAllByActiveTrue();
-        log.info("Retrieved {} active users", users.size());
-        return users;
+    public CursorPage<User> findActivePage(String cursor, int size) {
+        log.info("Retrieving active users page (size: {})", size);
+        List<User> users = userRepository.findAllByActiveTrueAndIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(size + 1));
+        return CursorPage.of(users, size, User::getId);
     }
 
     /**
@@ -73,6 +86,7 @@ public class UserService {
     public User save(User user) {
         log.info("Creating new user: {}", user.getEmail());
         User savedUser = userRepository.save(user);
+        userStatusIndex.put(savedUser);
         log.info("User created successfully with id: {}", savedUser.getId());
         return savedUser;
     }
@@ -82,24 +96,29 @@ public class UserService {
      *
      * @param user User - The user with updated data
      * @param id Long - The ID of the user to update
-     * @return User - The updated user entity
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional update
+     * @return User - The updated user entity with its new version
      * @throws ResourceNotFoundException if user is not found
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    public User update(User user, Long id) {
+    public User update(User user, Long id, Long expectedVersion) {
         log.info("Attempting to update user with id: {}", id);
 
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot update - User not found with id: {}", id);
-                    return new ResourceNotFoundException("User", "id", id);
-                });
-
-        existingUser.setEmail(user.getEmail());
-        existingUser.setName(user.getName());
-        existingUser.setLastName(user.getLastName());
-        existingUser.setActive(user.isActive());
-
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = optimisticRetry.execute(expectedVersion, () -> {
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Cannot update - User not found with id: {}", id);
+                        return new ResourceNotFoundException("User", "id", id);
+                    });
+            OptimisticRetry.checkVersion("User", id, expectedVersion, existingUser.getVersion());
+
+            existingUser.setEmail(user.getEmail());
+            existingUser.setName(user.getName());
+            existingUser.setLastName(user.getLastName());
+            existingUser.setActive(user.isActive());
+            return userRepository.saveAndFlush(existingUser);
+        });
+        userStatusIndex.put(updatedUser);
         log.info("User with id: {} has been successfully updated", id);
 
         return updatedUser;
@@ -109,19 +128,25 @@ public class UserService {
      * Soft deletes a user by deactivating them.
      *
      * @param id Long - The ID of the user to delete
+     * @param expectedVersion Long - Version from If-Match, or null for an unconditional delete
      * @throws ResourceNotFoundException if user is not found
+     * @throws PreconditionFailedException if expectedVersion is not the current version
      */
-    public void delete(Long id) {
+    public void delete(Long id, Long expectedVersion) {
         log.info("Attempting to delete user with id: {}", id);
 
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Cannot delete - User not found with id: {}", id);
-                    return new ResourceNotFoundException("User", "id", id);
-                });
-
-        user.setActive(false);
-        userRepository.save(user);
+        User user = optimisticRetry.execute(expectedVersion, () -> {
+            User existingUser = userRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.error("Cannot delete - User not found with id: {}", id);
+                        return new ResourceNotFoundException("User", "id", id);
+                    });
+            OptimisticRetry.checkVersion("User", id, expectedVersion, existingUser.getVersion());
+
+            existingUser.setActive(false);
+            return userRepository.saveAndFlush(existingUser);
+        });
+        userStatusIndex.put(user);
         log.info("User with id: {} has been successfully deactivated", id);
     }
 }
@@ -0,0 +1,65 @@
+package org.technoready.meliecommerce.util;
+
+import java.util.Locale;
+
+/**
+ * Reads the Accept-Encoding request header to decide whether a response may be sent gzip
+ * compressed. Quality values are honored, so {@code gzip;q=0} refuses gzip, and a wildcard only
+ * stands for gzip when gzip itself is not listed.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /**
+     * Checks whether the client accepts gzip content coding.
+     *
+     * @param acceptEncoding String - Value of the Accept-Encoding header, may be null
+     * @return boolean - True if gzip, or a wildcard not overridden by gzip, has a quality above zero
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return wildcard != null && wildcard > 0;
+    }
+
+    /**
+     * Reads the q parameter of one header element; malformed or missing values count as 1,
+     * as the header defaults to when no weight is given.
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
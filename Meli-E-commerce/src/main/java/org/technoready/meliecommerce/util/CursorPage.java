@@ -0,0 +1,82 @@
+package org.technoready.meliecommerce.util;
+
+import org.technoready.meliecommerce.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing ordered by ascending ID.
+ * The cursor is an opaque token that encodes the ID of the last element of the previous page.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ *
+ * @param items List<T> - Elements of the current page
+ * @param nextCursor String - Token for the next page, or null when this is the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows.
+     * The extra row only signals that another page exists and is not returned.
+     *
+     * @param fetched List<T> - Rows returned by the keyset query
+     * @param size int - Requested page size
+     * @param idOf Function<T, Long> - Extracts the keyset ID of an element
+     * @return CursorPage<T> - The page with its next cursor
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, encode(idOf.apply(items.get(size - 1))));
+    }
+
+    /**
+     * Clamps a requested page size to the range [1, MAX_SIZE].
+     *
+     * @param size int - Requested page size
+     * @return int - Page size to use
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Encodes the ID of the last element of a page as a cursor token.
+     *
+     * @param lastId Long - ID of the last element returned
+     * @return String - URL-safe cursor token
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor token into the ID after which the next page starts.
+     *
+     * @param cursor String - Cursor token, or null/blank for the first page
+     * @return long - ID to continue after (0 for the first page)
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return Long.parseLong(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
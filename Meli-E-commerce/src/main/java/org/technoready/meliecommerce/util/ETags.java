@@ -0,0 +1,109 @@
+package org.technoready.meliecommerce.util;
+
+import org.technoready.meliecommerce.dto.ProductVersionDTO;
+import org.technoready.meliecommerce.exception.PreconditionFailedException;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Conversions between entity versions and the strong ETags exposed over HTTP.
+ * The ETag of a resource is its optimistic lock version in quotes, e.g. {@code "3"}; a product
+ * list page is tagged with a digest of the ID and version of each of its rows instead.
+ * DATE: 16 - October - 2026
+ *
+ * @author Jorge Armando Avila Carrillo | NAOID: 3310
+ * @version 1.0
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the strong ETag of a version.
+     *
+     * @param version Long - The entity version
+     * @return String - The quoted ETag
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds the strong ETag of a list page from the ID and version of its rows, in order, and
+     * whether more rows follow. Since it comes from the database rows, every node computes the same
+     * tag, and any row that joins, leaves or is written through JPA changes it.
+     *
+     * @param rows List<ProductVersionDTO> - IDs and versions of the rows of the page
+     * @param hasNext boolean - Whether the page has a next page
+     * @return String - The quoted ETag
+     */
+    public static String ofPage(List<ProductVersionDTO> rows, boolean hasNext) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer row = ByteBuffer.allocate(2 * Long.BYTES);
+            for (ProductVersionDTO product : rows) {
+                row.clear();
+                row.putLong(product.id()).putLong(product.version() == null ? -1 : product.version());
+                digest.update(row.array());
+            }
+            digest.update((byte) (hasNext ? 1 : 0));
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Checks whether an If-None-Match header matches the current ETag, in which case a GET can be
+     * answered with 304 Not Modified. Uses the weak comparison the header calls for, so a
+     * {@code W/} prefix added by a proxy still matches.
+     *
+     * @param ifNoneMatch String - Value of the If-None-Match header, may be null
+     * @param eTag String - Current ETag of the resource
+     * @return boolean - True if the client already holds the current representation
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the version a client expects from an If-Match header.
+     * A missing header or {@code *} means the write is unconditional.
+     *
+     * @param ifMatch String - Value of the If-Match header, may be null
+     * @return Long - The expected version, or null when the write is unconditional
+     * @throws PreconditionFailedException if the header is not a single strong ETag of this API,
+     *         since such a value can never match the current version
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new PreconditionFailedException(String.format("If-Match value %s is not a strong ETag", tag));
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException(String.format("If-Match value %s does not match any version", tag));
+        }
+    }
+}
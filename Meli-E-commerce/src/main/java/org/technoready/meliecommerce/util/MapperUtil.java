@@ -1,6 +1,7 @@
 package org.technoready.meliecommerce.util;
 
 import org.technoready.meliecommerce.dto.OrderDetailsResponseDTO;
+import org.technoready.meliecommerce.dto.OrderLineRowDTO;
 import org.technoready.meliecommerce.dto.OrderResponseDTO;
 import org.technoready.meliecommerce.dto.ProductDTO;
 import org.technoready.meliecommerce.dto.UserDTO;
@@ -8,6 +9,7 @@ import org.technoready.meliecommerce.entity.Order;
 import org.technoready.meliecommerce.entity.Product;
 import org.technoready.meliecommerce.entity.User;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class MapperUtil {
@@ -17,6 +19,7 @@ public class MapperUtil {
                 .id(entity.getId())
                 .name(entity.getName())
                 .price(entity.getPrice())
+                .stock(entity.getStock())
                 .description(entity.getDescription())
                 .created_at(entity.getCreated_at())
                 .active(entity.isActive())
@@ -28,6 +31,7 @@ public class MapperUtil {
                 .id(dto.getId())
                 .name(dto.getName())
                 .price(dto.getPrice())
+                .stock(dto.getStock())
                 .description(dto.getDescription())
                 .created_at(dto.getCreated_at())
                 .active(dto.isActive())
@@ -63,6 +67,7 @@ public class MapperUtil {
                 .createdAt(order.getCreatedAt())
                 .total(order.getTotal())
                 .active(order.isActive())
+                .version(order.getVersion())
                 .details(order.getDetails().stream()
                         .map(d -> OrderDetailsResponseDTO.builder()
                                 .productId(d.getProduct().getId())
@@ -81,4 +86,38 @@ public class MapperUtil {
                 .toList();
     }
 
+    /**
+     * Groups projection rows into orders in one pass.
+     * Rows must be sorted by order ID so the lines of an order are contiguous.
+     */
+    public static List<OrderResponseDTO> toDTOListFromRows(List<OrderLineRowDTO> rows) {
+        List<OrderResponseDTO> orders = new ArrayList<>();
+        OrderResponseDTO current = null;
+
+        for (OrderLineRowDTO row : rows) {
+            if (current == null || !current.getId().equals(row.orderId())) {
+                current = OrderResponseDTO.builder()
+                        .id(row.orderId())
+                        .userId(row.userId())
+                        .createdAt(row.createdAt())
+                        .total(row.total())
+                        .active(row.active())
+                        .version(row.version())
+                        .details(new ArrayList<>())
+                        .build();
+                orders.add(current);
+            }
+            if (row.productId() != null) {
+                current.getDetails().add(OrderDetailsResponseDTO.builder()
+                        .productId(row.productId())
+                        .productName(row.productName())
+                        .descriptionSnap(row.descriptionSnap())
+                        .quantity(row.quantity())
+                        .unitPrice(row.unitPrice())
+                        .build());
+            }
+        }
+        return orders;
+    }
+
 }
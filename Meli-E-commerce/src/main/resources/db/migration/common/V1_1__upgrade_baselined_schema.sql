@@ -0,0 +1,13 @@
+-- Databases created by ddl-auto before migrations existed are baselined at V1, so V1 never runs
+-- on them. Their tables predate optimistic locking, stock tracking and the pooled sequences;
+-- this adds what they are missing. No-op on databases created by V1.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS stock INTEGER;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_details_seq START WITH 1 INCREMENT BY 50;
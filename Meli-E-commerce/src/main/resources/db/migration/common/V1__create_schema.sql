@@ -0,0 +1,55 @@
+-- Schema as mapped by the JPA entities. Databases that were created by ddl-auto before
+-- migrations existed are baselined at this version instead and brought up to it by V1_1 and V1_2.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_details_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    create_date DATE NOT NULL,
+    active BOOLEAN NOT NULL,
+    version BIGINT,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    price FLOAT(53),
+    stock INTEGER,
+    created_at TIME(6),
+    is_active BOOLEAN NOT NULL,
+    version BIGINT,
+    CONSTRAINT pk_products PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    total FLOAT(53) NOT NULL,
+    active BOOLEAN NOT NULL,
+    version BIGINT,
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE order_details (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_name VARCHAR(255),
+    description_snap VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    unit_price FLOAT(53),
+    CONSTRAINT pk_order_details PRIMARY KEY (id),
+    CONSTRAINT fk_order_details_order_id FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_details_product_id FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,6 @@
+-- Rows written before optimistic locking was added have no version; Hibernate needs one to
+-- update them. No-op on databases created by V1.
+
+UPDATE users SET version = 0 WHERE version IS NULL;
+UPDATE products SET version = 0 WHERE version IS NULL;
+UPDATE orders SET version = 0 WHERE version IS NULL;
@@ -0,0 +1,15 @@
+-- Order events written in the same transaction as the order change and drained by
+-- OrderOutboxRelay. Rows are deleted once delivered, so the table only holds the backlog;
+-- the primary key serves the relay's scan in id order. No foreign key to orders, so an
+-- event never blocks or is blocked by changes to the order it describes.
+
+CREATE SEQUENCE order_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_outbox (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload VARCHAR NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_order_outbox PRIMARY KEY (id)
+);
@@ -0,0 +1,7 @@
+-- Same as the PostgreSQL migration. H2 accepts DROP IDENTITY on columns that are not identity
+-- columns, so it needs no IF EXISTS.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_details ALTER COLUMN id DROP IDENTITY;
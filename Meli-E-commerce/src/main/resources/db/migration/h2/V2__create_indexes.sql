@@ -0,0 +1,8 @@
+-- Same indexes as the PostgreSQL migration. H2 has no partial indexes, so the active flag
+-- leads a composite index instead. The order_details foreign keys need nothing here: H2 indexes
+-- foreign key columns itself when V1 adds the constraints.
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_id_active ON orders (user_id, active);
+CREATE INDEX IF NOT EXISTS idx_orders_active_id ON orders (active, id);
+CREATE INDEX IF NOT EXISTS idx_products_active_id ON products (is_active, id);
+CREATE INDEX IF NOT EXISTS idx_users_active_id ON users (active, id);
@@ -0,0 +1,10 @@
+-- Same as the PostgreSQL migration. BASE_VALUE is the next value the sequence hands out.
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = 'USERS_SEQ')));
+ALTER SEQUENCE products_seq RESTART WITH (SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM products) + 50,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = 'PRODUCTS_SEQ')));
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders) + 50,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = 'ORDERS_SEQ')));
+ALTER SEQUENCE order_details_seq RESTART WITH (SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM order_details) + 50,
+    (SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND SEQUENCE_NAME = 'ORDER_DETAILS_SEQ')));
@@ -0,0 +1,8 @@
+-- ddl-auto created the ids as identity columns. Hibernate now takes them from the pooled
+-- sequences, so the identity generators are dropped; V4 moves the sequences past the existing ids.
+-- No-op on databases created by V1.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_details ALTER COLUMN id DROP IDENTITY IF EXISTS;
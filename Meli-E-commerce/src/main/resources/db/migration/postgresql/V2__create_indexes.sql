@@ -0,0 +1,20 @@
+-- Indexes backing the repository queries. Active-only lookups use partial indexes keyed by id,
+-- so they stay small and also serve the keyset pages (id > :cursor order by id).
+-- On a large existing database, build them beforehand with CREATE INDEX CONCURRENTLY under the
+-- same names; IF NOT EXISTS then turns this migration into a no-op.
+
+-- findByUserId, findByUser_IdAndActiveTrue, findLineRowsByUserId; also covers the user_id foreign key
+CREATE INDEX IF NOT EXISTS idx_orders_user_id_active ON orders (user_id, active);
+
+-- findOrdersByActiveTrue, findActiveIdsAfter
+CREATE INDEX IF NOT EXISTS idx_orders_active_id ON orders (id) WHERE active;
+
+-- Foreign keys of order_details: loading the lines of orders, and product references
+CREATE INDEX IF NOT EXISTS idx_order_details_order_id ON order_details (order_id);
+CREATE INDEX IF NOT EXISTS idx_order_details_product_id ON order_details (product_id);
+
+-- findByActiveTrue, findByActiveTrueAndIdGreaterThanOrderByIdAsc
+CREATE INDEX IF NOT EXISTS idx_products_active_id ON products (id) WHERE is_active;
+
+-- findAllByActiveTrue, findAllByActiveTrueAndIdGreaterThanOrderByIdAsc
+CREATE INDEX IF NOT EXISTS idx_users_active_id ON users (id) WHERE active;
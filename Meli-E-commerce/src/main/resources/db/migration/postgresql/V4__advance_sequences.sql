@@ -0,0 +1,8 @@
+-- Rows inserted before the pooled sequences existed (identity ids, manual imports) can sit above
+-- the current sequence value. Hibernate's pooled optimizer hands out the 50 ids up to each value
+-- it reads, so every sequence is moved to at least max(id) + 50. Sequences never move backwards.
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50, (SELECT last_value FROM users_seq)));
+SELECT setval('products_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM products) + 50, (SELECT last_value FROM products_seq)));
+SELECT setval('orders_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM orders) + 50, (SELECT last_value FROM orders_seq)));
+SELECT setval('order_details_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM order_details) + 50, (SELECT last_value FROM order_details_seq)));
@@ -0,0 +1,113 @@
+package org.technoready.meliecommerce.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that invalidations reach the next read, that a load racing an invalidation is not
+ * cached, that every read gets its own detached copy, that the cache can be bypassed, and that
+ * its statistics are published.
+ */
+class ProductCatalogCacheTest {
+
+    private ProductRepository productRepository;
+
+    private final AtomicReference<Double> price = new AtomicReference<>(10.0);
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> List.of(product(price.get())));
+    }
+
+    @Test
+    void invalidatedProductsAreReloaded() {
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, true, 100, Duration.ZERO);
+
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(10.0);
+        price.set(20.0);
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(10.0);
+        verify(productRepository, times(1)).findAllById(any());
+
+        cache.invalidate(1L);
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(20.0);
+        verify(productRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void loadsRacingAnInvalidationAreNotCached() {
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, true, 100, Duration.ZERO);
+        // The product changes and is invalidated while the stale row is being read
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> {
+            Product stale = product(price.get());
+            price.set(30.0);
+            cache.invalidate(1L);
+            return List.of(stale);
+        }).thenAnswer(invocation -> List.of(product(price.get())));
+
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(10.0);
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(30.0);
+    }
+
+    @Test
+    void readsGetTheirOwnCopies() {
+        Product loaded = product(10.0);
+        when(productRepository.findAllById(any())).thenReturn(List.of(loaded));
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, true, 100, Duration.ZERO);
+
+        Product first = cache.get(1L).orElseThrow();
+        first.setPrice(99.0);
+        Product second = cache.get(1L).orElseThrow();
+
+        assertThat(first).isNotSameAs(loaded);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPrice()).isEqualTo(10.0);
+    }
+
+    @Test
+    void disabledCacheAlwaysReadsTheDatabase() {
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, false, 100, Duration.ZERO);
+
+        cache.get(1L);
+        price.set(20.0);
+
+        assertThat(cache.get(1L).orElseThrow().getPrice()).isEqualTo(20.0);
+        verify(productRepository, times(2)).findAllById(any());
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void statisticsArePublished() {
+        ProductCatalogCache cache = new ProductCatalogCache(productRepository, true, 100, Duration.ZERO);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L);
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(registry.get("cache.gets").tag("cache", "product.catalog").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "product.catalog").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    private static Product product(double price) {
+        return Product.builder().id(1L).version(0L).name("Cached").description("").price(price).active(true).build();
+    }
+}
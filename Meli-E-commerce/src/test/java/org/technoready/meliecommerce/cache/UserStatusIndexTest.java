@@ -0,0 +1,118 @@
+package org.technoready.meliecommerce.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.technoready.meliecommerce.dto.UserStatusDTO;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.repository.UserRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the index warms in keyset batches and that a status is only replaced by a newer
+ * version, whether it comes from the database or from UserService writes recorded out of order.
+ */
+class UserStatusIndexTest {
+
+    private UserRepository userRepository;
+
+    private UserStatusIndex index;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        index = new UserStatusIndex(userRepository);
+    }
+
+    @Test
+    void unknownUsersAreLoadedOnceAndRemembered() {
+        when(userRepository.findStatusById(1L)).thenReturn(Optional.of(new UserStatusDTO(1L, true, 0L)));
+        when(userRepository.findStatusById(2L)).thenReturn(Optional.empty());
+
+        assertThat(index.isActive(1L)).contains(true);
+        assertThat(index.isActive(1L)).contains(true);
+        assertThat(index.isActive(2L)).isEmpty();
+        verify(userRepository).findStatusById(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fallbackReadDoesNotOverwriteADeletion() {
+        when(userRepository.findStatusById(1L)).thenAnswer(invocation -> {
+            index.put(user(1L, false, 1L));
+            return Optional.of(new UserStatusDTO(1L, true, 0L));
+        });
+
+        assertThat(index.isActive(1L)).contains(false);
+        assertThat(index.isActive(1L)).contains(false);
+    }
+
+    @Test
+    void batchFallbackDoesNotOverwriteADeletion() {
+        index.put(user(1L, true, 0L));
+        when(userRepository.findStatusesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            index.put(user(2L, false, 1L));
+            return List.of(new UserStatusDTO(2L, true, 0L), new UserStatusDTO(3L, true, 0L));
+        });
+
+        Map<Long, Boolean> statuses = index.getStatuses(List.of(1L, 2L, 3L, 4L));
+
+        assertThat(statuses).containsExactlyInAnyOrderEntriesOf(Map.of(1L, true, 2L, false, 3L, true));
+        assertThat(index.isActive(2L)).contains(false);
+        verify(userRepository, never()).findStatusById(anyLong());
+    }
+
+    @Test
+    void writesRecordedOutOfOrderKeepTheNewestVersion() {
+        index.put(user(1L, false, 2L));
+        index.put(user(1L, true, 1L));
+        index.put(user(5000L, true, 0L));
+        index.put(user(5000L, false, 1L));
+
+        assertThat(index.isActive(1L)).contains(false);
+        assertThat(index.isActive(5000L)).contains(false);
+        assertThat(index.size()).isEqualTo(2);
+        verify(userRepository, never()).findStatusById(anyLong());
+    }
+
+    @Test
+    void warmUpReadsInKeysetBatchesAndKeepsNewerStatuses() {
+        when(userRepository.findAllByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            if (afterId == 0L) {
+                index.put(user(1L, false, 1L));
+            }
+            return LongStream.rangeClosed(afterId + 1, Math.min(afterId + limit.max(), 2500L))
+                    .mapToObj(id -> user(id, true, 0L))
+                    .toList();
+        });
+
+        index.warm();
+
+        verify(userRepository, times(3)).findAllByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(userRepository).findAllByIdGreaterThanOrderByIdAsc(2000L, Limit.of(1000));
+        verify(userRepository, never()).findAll();
+        assertThat(index.isActive(1L)).contains(false);
+        assertThat(index.isActive(2500L)).contains(true);
+        assertThat(index.size()).isEqualTo(2500);
+    }
+
+    private static User user(Long id, boolean active, Long version) {
+        return User.builder().id(id).active(active).version(version).build();
+    }
+}
@@ -0,0 +1,161 @@
+package org.technoready.meliecommerce.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.service.ProductService;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that active catalog pages are served from the pre-encoded snapshot with only the query
+ * that tags the page, that they match what the query path returns, and that a product change is
+ * never hidden behind a stale snapshot.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CatalogSnapshotTest {
+
+    private static final String PRODUCT_JSON =
+            "{\"name\":\"Snapshot product\",\"description\":\"Bytes\",\"price\":%s,\"active\":true}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        // Other tests write products through the repository, which the snapshot is not told about
+        productCatalogCache.invalidateAll();
+    }
+
+    @Test
+    void snapshotPagesMatchTheQueryPathWithOnlyTheTagQuery() throws Exception {
+        createProduct(10.0);
+        MockHttpServletResponse fromSnapshot = awaitSnapshot("/api/products");
+        MockHttpServletResponse queried = mockMvc.perform(get("/api/products").param("size", "49"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+
+        JsonNode snapshotPage = objectMapper.readTree(fromSnapshot.getContentAsByteArray());
+        JsonNode queriedPage = objectMapper.readTree(queried.getContentAsByteArray());
+        assertThat(snapshotPage.get("data").get(0)).isEqualTo(queriedPage.get("data").get(0));
+        assertThat(snapshotPage.get("data").size()).isGreaterThanOrEqualTo(queriedPage.get("data").size());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/products")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isEqualTo("W/" + fromSnapshot.getHeader(HttpHeaders.ETAG));
+        assertThat(gzipped.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(fromSnapshot.getContentAsByteArray());
+        assertThat(fromSnapshot.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(queried.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+
+        for (String refused : new String[]{"gzip;q=0", "identity, gzip;q=0"}) {
+            MockHttpServletResponse plain = mockMvc.perform(get("/api/products")
+                            .header(HttpHeaders.ACCEPT_ENCODING, refused))
+                    .andExpect(status().isOk()).andReturn().getResponse();
+            assertThat(plain.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+            assertThat(plain.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(plain.getContentAsByteArray()).isEqualTo(fromSnapshot.getContentAsByteArray());
+        }
+
+        String nextCursor = snapshotPage.path("nextCursor").asText(null);
+        if (nextCursor != null) {
+            statistics.clear();
+            mockMvc.perform(get("/api/products").param("cursor", nextCursor)).andExpect(status().isOk());
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void productChangeIsVisibleBeforeTheSnapshotIsRebuilt() throws Exception {
+        Long id = createProduct(10.0);
+        awaitSnapshot("/api/products");
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(10.0).replace("\"active\":true", "\"active\":false")))
+                .andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/api/products").param("size", "200"))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(body).doesNotContain("\"id\":" + id + ",");
+        assertThat(awaitSnapshot("/api/products").getHeader(HttpHeaders.ETAG))
+                .isEqualTo(productService.pageTag(true, null, CursorPage.DEFAULT_SIZE));
+    }
+
+    /**
+     * Polls until the page is served from a snapshot that is up to date with the database, which
+     * takes only the query that tags the page; the query path needs a second one for the page.
+     */
+    private MockHttpServletResponse awaitSnapshot(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int attempt = 0; attempt < 100; attempt++) {
+            statistics.clear();
+            MockHttpServletResponse response = mockMvc.perform(get(url)).andExpect(status().isOk())
+                    .andReturn().getResponse();
+            if (statistics.getPrepareStatementCount() == 1) {
+                return response;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Catalog snapshot was not rebuilt");
+    }
+
+    private Long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(price)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.technoready.meliecommerce.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that catalog and order reads answer If-None-Match with 304 while nothing changed, that
+ * product writes, stock reservations, writes made straight to the database and order updates all
+ * move the ETag on, and that a catalog page keeps its ETag while only other pages change.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ConditionalReadTest {
+
+    private static final String PRODUCT_JSON =
+            "{\"name\":\"Polled product\",\"description\":\"ETag\",\"price\":%s,\"stock\":20,\"active\":true}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void catalogIsNotModifiedUntilAProductOrItsStockChanges() throws Exception {
+        Long productId = createProduct(10.0);
+        String page = pageOf(productId);
+        String eTag = catalogETag(page);
+
+        mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(12.0)))
+                .andExpect(status().isOk());
+        String afterUpdate = catalogETag(page);
+        assertThat(afterUpdate).isNotEqualTo(eTag);
+        mockMvc.perform(get(page).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        createOrder("[{\"productId\":" + productId + ",\"quantity\":1}]");
+        String afterOrder = catalogETag(page);
+        assertThat(afterOrder).isNotEqualTo(afterUpdate);
+
+        // As another node would: the tag comes from the rows, not from what this instance saw
+        jdbcTemplate.update("UPDATE products SET stock = 5, version = version + 1 WHERE id = ?", productId);
+        assertThat(catalogETag(page)).isNotEqualTo(afterOrder);
+    }
+
+    @Test
+    void catalogPageKeepsItsETagWhileOtherPagesChange() throws Exception {
+        Long first = createProduct(10.0);
+        Long second = createProduct(10.0);
+        String eTag = catalogETag(pageOf(first));
+
+        createOrder("[{\"productId\":" + second + ",\"quantity\":1}]");
+
+        mockMvc.perform(get(pageOf(first)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void invalidCatalogParametersAreRejectedBeforeIfNoneMatch() throws Exception {
+        mockMvc.perform(get("/api/products").param("sort", "name").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").param("activeOnly", "false").param("sort", "price")
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void productIsNotModifiedWhileItsVersionHolds() throws Exception {
+        Long productId = createProduct(10.0);
+
+        mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\", \"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        createOrder("[{\"productId\":" + productId + ",\"quantity\":1}]");
+        mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void orderIsNotModifiedUntilItsLinesChange() throws Exception {
+        Long first = createProduct(10.0);
+        Long second = createProduct(10.0);
+        Long orderId = createOrder("[{\"productId\":" + first + ",\"quantity\":1},"
+                + "{\"productId\":" + second + ",\"quantity\":2}]");
+
+        mockMvc.perform(get("/api/orders/{id}", orderId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        // Same total, different lines: the order must still get a new version
+        mockMvc.perform(put("/api/orders/{id}", orderId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + first + ",\"quantity\":2},"
+                                + "{\"productId\":" + second + ",\"quantity\":1}]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/api/orders/{id}", orderId).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(get("/api/orders/{id}", 999_999).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Returns the URL of the one-product catalog page holding the given product.
+     */
+    private static String pageOf(Long productId) {
+        return "/api/products?size=1&cursor=" + CursorPage.encode(productId - 1);
+    }
+
+    private String catalogETag(String page) throws Exception {
+        return mockMvc.perform(get(page))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Long createProduct(double price) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(price)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    private Long createOrder(String lines) throws Exception {
+        String body = mockMvc.perform(post("/api/orders/{userId}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lines))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+    }
+}
@@ -0,0 +1,126 @@
+package org.technoready.meliecommerce.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that entity versions are exposed as ETags, that If-Match guards writes against lost
+ * updates and that stale versions are rejected instead of silently overwritten.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalWriteTest {
+
+    private static final String PRODUCT_JSON =
+            "{\"name\":\"Conditional product\",\"description\":\"ETag\",\"price\":%s,\"stock\":20,\"active\":true}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void productWritesAreGuardedByIfMatch() throws Exception {
+        Long id = createProduct();
+
+        mockMvc.perform(get("/api/products/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(20.0)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(30.0)))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/products/{id}", id).header(HttpHeaders.IF_MATCH, "W/\"1\""))
+                .andExpect(status().isPreconditionFailed());
+
+        Product product = productRepository.findById(id).orElseThrow();
+        assertThat(product.getPrice()).isEqualTo(20.0);
+        assertThat(product.isActive()).isTrue();
+
+        mockMvc.perform(delete("/api/products/{id}", id).header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk());
+        assertThat(productRepository.findById(id).orElseThrow().isActive()).isFalse();
+    }
+
+    @Test
+    void staleEntityCannotOverwriteNewerVersion() throws Exception {
+        Long id = createProduct();
+        Product stale = productRepository.findById(id).orElseThrow();
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(15.0)))
+                .andExpect(status().isOk());
+
+        stale.setPrice(99.0);
+        assertThatThrownBy(() -> productRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(productRepository.findById(id).orElseThrow().getPrice()).isEqualTo(15.0);
+    }
+
+    @Test
+    void orderWritesBumpTheOrderAndStockChangesBumpTheProduct() throws Exception {
+        Long productId = createProduct();
+
+        String body = mockMvc.perform(post("/api/orders/{userId}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + productId + ",\"quantity\":2}]"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        Long orderId = Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/api/orders/{id}", orderId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + productId + ",\"quantity\":3}]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(delete("/api/orders/{id}", orderId).header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(productRepository.findById(productId).orElseThrow().getStock()).isEqualTo(17);
+    }
+
+    private Long createProduct() throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted(10.0)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getContentAsString();
+        return Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+    }
+}
@@ -0,0 +1,97 @@
+package org.technoready.meliecommerce.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.service.OrderService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the order read endpoints against N+1 loading by counting the SQL statements
+ * each request prepares and failing when a request goes above a fixed bound.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderControllerQueryCountTest {
+
+    private static final int MAX_STATEMENTS_PER_REQUEST = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<OrderDetailsDTO> lines = List.of(
+                new OrderDetailsDTO(1L, 1),
+                new OrderDetailsDTO(2L, 2),
+                new OrderDetailsDTO(3L, 3),
+                new OrderDetailsDTO(4L, 4));
+        for (long userId = 1; userId <= 3; userId++) {
+            order = orderService.createOrder(userId, lines);
+            orderService.createOrder(userId, lines.subList(0, 2));
+        }
+    }
+
+    @Test
+    void listOrdersUsesBoundedStatements() throws Exception {
+        assertStatementsAtMost(get("/api/orders"));
+        assertStatementsAtMost(get("/api/orders").param("activeOnly", "false"));
+        assertStatementsAtMost(get("/api/orders").param("size", "2"));
+    }
+
+    @Test
+    void ordersByUserUseBoundedStatements() throws Exception {
+        assertStatementsAtMost(get("/api/orders/user/{userId}", 1));
+        assertStatementsAtMost(get("/api/orders/user/{userId}", 2).param("activeOnly", "false"));
+    }
+
+    @Test
+    void orderByIdUsesBoundedStatements() throws Exception {
+        assertStatementsAtMost(get("/api/orders/{id}", order.getId()));
+    }
+
+    @Test
+    void exportUsesBoundedStatements() throws Exception {
+        statistics.clear();
+        MvcResult result = mockMvc.perform(get("/api/orders/export")).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_REQUEST);
+    }
+
+    private void assertStatementsAtMost(RequestBuilder request) throws Exception {
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements prepared by one request")
+                .isLessThanOrEqualTo(MAX_STATEMENTS_PER_REQUEST);
+    }
+}
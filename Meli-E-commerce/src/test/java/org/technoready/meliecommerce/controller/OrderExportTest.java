@@ -0,0 +1,100 @@
+package org.technoready.meliecommerce.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.repository.OrderRepository;
+import org.technoready.meliecommerce.service.OrderService;
+import org.technoready.meliecommerce.service.ProductService;
+import org.technoready.meliecommerce.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that an export larger than one fetch of the database cursor writes every order once,
+ * in ID order, with all of its lines, even though the persistence context is cleared every
+ * EXPORT_FETCH_SIZE orders while the lines of an order span several rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderExportTest {
+
+    private static final int ORDERS = OrderRepository.EXPORT_FETCH_SIZE * 2 + 37;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportWritesEveryOrderWithAllItsLines() throws Exception {
+        Long userId = userService.save(User.builder().name("Export").lastName("User")
+                .email("export" + System.nanoTime() + "@test.com").active(true).build()).getId();
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            productIds.add(productService.save(Product.builder().name("Export product " + i)
+                    .description("Export").price(1.0 + i).active(true).build()).getId());
+        }
+
+        // Orders get one to four lines, so line rows never align with the fetch size
+        Map<Long, Integer> expectedLines = new HashMap<>();
+        for (int i = 0; i < ORDERS; i++) {
+            List<OrderDetailsDTO> details = new ArrayList<>();
+            for (int line = 0; line <= i % 4; line++) {
+                details.add(new OrderDetailsDTO(productIds.get(line), line + 1));
+            }
+            expectedLines.put(orderService.createOrder(userId, details).getId(), details.size());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export").param("userId", userId.toString())).andReturn();
+        String body = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(ORDERS);
+
+        long previousId = 0;
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            long id = order.get("id").asLong();
+            assertThat(id).isGreaterThan(previousId);
+            previousId = id;
+
+            JsonNode details = order.get("details");
+            assertThat(details.size()).as("lines of order %d", id).isEqualTo(expectedLines.get(id));
+            for (int i = 0; i < details.size(); i++) {
+                assertThat(details.get(i).get("quantity").asInt()).isEqualTo(i + 1);
+                assertThat(details.get(i).get("productId").asLong()).isEqualTo(productIds.get(i));
+            }
+        }
+    }
+}
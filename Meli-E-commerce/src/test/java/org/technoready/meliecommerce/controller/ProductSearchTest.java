@@ -0,0 +1,162 @@
+package org.technoready.meliecommerce.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that GET /api/products/search, GET /api/products/autocomplete and the price listing of
+ * GET /api/products follow product and order writes through their in-memory indexes, and reject
+ * invalid parameters.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSearchTest {
+
+    private static final String PRODUCT_JSON =
+            "{\"name\":\"%s\",\"description\":\"%s\",\"price\":99.0,\"active\":true}";
+    private static final String PRICED_JSON =
+            "{\"name\":\"%s\",\"description\":\"Rango\",\"price\":%s,\"active\":true}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void searchFollowsCreateUpdateAndDelete() throws Exception {
+        Long id = createProduct("Cafetera Itálica", "Espresso de 15 bares");
+
+        mockMvc.perform(get("/api/products/search").param("q", "CAFETERA italica"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(id));
+
+        mockMvc.perform(put("/api/products/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRODUCT_JSON.formatted("Tetera Itálica", "Acero inoxidable")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/search").param("q", "cafetera"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(0));
+        mockMvc.perform(get("/api/products/search").param("q", "tetera"))
+                .andExpect(jsonPath("$.data[0].name").value("Tetera Itálica"));
+
+        mockMvc.perform(delete("/api/products/{id}", id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/search").param("q", "tetera"))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    void autocompleteRanksByUnitsInCommittedOrders() throws Exception {
+        Long plain = createProduct("Zafiro Collar", "Plata");
+        Long popular = createProduct("Zafiro Anillo", "Oro");
+
+        mockMvc.perform(get("/api/products/autocomplete").param("q", "ZAF"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].productId").value(plain))
+                .andExpect(jsonPath("$.data[1].productId").value(popular));
+
+        String body = mockMvc.perform(post("/api/orders/{userId}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":" + popular + ",\"quantity\":3}]"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Long orderId = Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+
+        mockMvc.perform(get("/api/products/autocomplete").param("q", "anillo"))
+                .andExpect(jsonPath("$.data[0].name").value("Zafiro Anillo"))
+                .andExpect(jsonPath("$.data[0].popularity").value(3));
+        mockMvc.perform(get("/api/products/autocomplete").param("q", "zafiro"))
+                .andExpect(jsonPath("$.data[0].productId").value(popular));
+
+        mockMvc.perform(delete("/api/orders/{id}", orderId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/autocomplete").param("q", "zafiro"))
+                .andExpect(jsonPath("$.data[0].productId").value(plain));
+    }
+
+    @Test
+    void priceListingFollowsPriceUpdates() throws Exception {
+        Long cheap = createProduct(PRICED_JSON.formatted("Rango A", "70001.0"));
+        Long middle = createProduct(PRICED_JSON.formatted("Rango B", "70002.0"));
+        Long dear = createProduct(PRICED_JSON.formatted("Rango C", "70003.0"));
+
+        String body = mockMvc.perform(get("/api/products")
+                        .param("minPrice", "70000").param("maxPrice", "70010").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(cheap))
+                .andExpect(jsonPath("$.data[1].id").value(middle))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = body.replaceAll("(?s).*\"nextCursor\":\"([^\"]+)\".*", "$1");
+
+        mockMvc.perform(get("/api/products")
+                        .param("minPrice", "70000").param("maxPrice", "70010").param("cursor", cursor))
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.data[0].id").value(dear))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(put("/api/products/{id}", cheap)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PRICED_JSON.formatted("Rango A", "70005.0")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products").param("minPrice", "70000").param("maxPrice", "70010"))
+                .andExpect(jsonPath("$.data[0].id").value(middle))
+                .andExpect(jsonPath("$.data[1].id").value(dear))
+                .andExpect(jsonPath("$.data[2].id").value(cheap))
+                .andExpect(jsonPath("$.data[2].price").value(70005.0));
+        mockMvc.perform(get("/api/products").param("minPrice", "70004.5").param("sort", "price"))
+                .andExpect(jsonPath("$.data[0].id").value(cheap));
+    }
+
+    @Test
+    void invalidPriceParametersAreBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("minPrice", "20").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'maxPrice': must be a number not below minPrice"));
+        mockMvc.perform(get("/api/products").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products").param("sort", "price").param("activeOnly", "false"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchWithoutQueryIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Missing required parameter 'q'"));
+    }
+
+    private Long createProduct(String name, String description) throws Exception {
+        return createProduct(PRODUCT_JSON.formatted(name, description));
+    }
+
+    private Long createProduct(String json) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return Long.valueOf(body.replaceAll("(?s).*\"data\":\\{\"id\":(\\d+).*", "$1"));
+    }
+}
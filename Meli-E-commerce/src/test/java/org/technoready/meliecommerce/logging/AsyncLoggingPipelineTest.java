@@ -0,0 +1,131 @@
+package org.technoready.meliecommerce.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that success-path logs are sampled per message template without touching warnings or
+ * other loggers, and that the asynchronous appender drops and counts events instead of blocking
+ * the caller when its queue is full.
+ */
+class AsyncLoggingPipelineTest {
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void successLogsAreSampledPerTemplate() {
+        SuccessLogSampler sampler = new SuccessLogSampler();
+        sampler.addLoggerPrefix("org.technoready.meliecommerce.controller");
+        sampler.setSampleEvery(10);
+        sampler.start();
+        context.addTurboFilter(sampler);
+
+        ListAppender<ILoggingEvent> written = new ListAppender<>();
+        written.setContext(context);
+        written.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(written);
+
+        Logger controller = context.getLogger("org.technoready.meliecommerce.controller.OrderController");
+        Logger other = context.getLogger("org.technoready.meliecommerce.cache.UserStatusIndex");
+        long sampledBefore = SuccessLogSampler.sampledOutCount();
+
+        for (int i = 0; i < 100; i++) {
+            controller.info("Controller: Received request to get order with ID: {}", i);
+            controller.info("Controller: Retrieved {} orders", i);
+            controller.warn("Controller: Order {} failed", i);
+            other.info("Index warmed with {} users", i);
+        }
+
+        assertThat(written.list).filteredOn(e -> e.getMessage().startsWith("Controller: Received")).hasSize(10);
+        assertThat(written.list).filteredOn(e -> e.getMessage().startsWith("Controller: Retrieved")).hasSize(10);
+        assertThat(written.list).filteredOn(e -> e.getLevel() == Level.WARN).hasSize(100);
+        assertThat(written.list).filteredOn(e -> e.getLoggerName().equals(other.getName())).hasSize(100);
+        assertThat(SuccessLogSampler.sampledOutCount() - sampledBefore).isEqualTo(180);
+    }
+
+    @Test
+    void fullQueueDropsEventsWithoutBlocking() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender slowDisk = new BlockingAppender(release);
+        slowDisk.setContext(context);
+        slowDisk.start();
+
+        MeteredAsyncAppender async = new MeteredAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(4);
+        async.setNeverBlock(true);
+        async.setDiscardingThreshold(1);
+        async.addAppender(slowDisk);
+        async.start();
+
+        Logger logger = context.getLogger("org.technoready.meliecommerce.service.OrderService");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(async);
+        long discardedBefore = MeteredAsyncAppender.discardedCount();
+        long queueFullBefore = MeteredAsyncAppender.queueFullCount();
+
+        logger.warn("First event, held by the worker");
+        assertThat(slowDisk.taken.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            logger.warn("Warning {}", i);
+        }
+        logger.info("Info while the queue is nearly full");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(MeteredAsyncAppender.queueFullCount() - queueFullBefore).isEqualTo(6);
+        assertThat(MeteredAsyncAppender.discardedCount() - discardedBefore).isEqualTo(1);
+    }
+
+    /**
+     * Appender that blocks its caller until released, standing in for a stalled log file.
+     */
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch release;
+        private final CountDownLatch taken = new CountDownLatch(1);
+
+        BlockingAppender(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            taken.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.technoready.meliecommerce.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that requests update the business counters and the service and repository timers.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ECommerceMetricsTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void createdOrderIsCountedAndTimed() throws Exception {
+        double placed = meterRegistry.get("ecommerce.orders.placed").tag("source", "single").counter().count();
+        double priced = meterRegistry.get("ecommerce.order.lines.priced").counter().count();
+
+        mockMvc.perform(post("/api/orders/{userId}", 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\":1,\"quantity\":2},{\"productId\":2,\"quantity\":1},{\"productId\":1,\"quantity\":1}]"))
+                .andExpect(status().isCreated());
+
+        assertThat(meterRegistry.get("ecommerce.orders.placed").tag("source", "single").counter().count())
+                .isEqualTo(placed + 1);
+        assertThat(meterRegistry.get("ecommerce.order.lines.priced").counter().count()).isEqualTo(priced + 2);
+        assertThat(meterRegistry.get(ECommerceMetrics.SERVICE_TIMER)
+                .tag("method", "createOrder").tag("exception", "none").timer().count()).isPositive();
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "OrderRepository").tag("method", "save").timer().count()).isPositive();
+    }
+
+    @Test
+    void productCacheStatisticsArePublished() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", 1)).andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "product.catalog").functionCounters()).isNotEmpty();
+        assertThat(meterRegistry.get("cache.size").tag("cache", "product.catalog").gauge()).isNotNull();
+    }
+
+    @Test
+    void notFoundErrorsAreCountedByResource() throws Exception {
+        mockMvc.perform(get("/api/products/{id}", Long.MAX_VALUE)).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry.get("ecommerce.errors")
+                .tag("type", "not_found").tag("resource", "Product").counter().count()).isPositive();
+    }
+}
@@ -0,0 +1,82 @@
+package org.technoready.meliecommerce.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that events are appended as one JSON line each and that full files are rolled,
+ * keeping only the configured number of rolled files.
+ */
+class FileOrderEventSinkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+    private FileOrderEventSink sink;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        sink.close();
+    }
+
+    @Test
+    void eventsAreAppendedAsJsonLines() throws IOException {
+        Path file = directory.resolve("events/order-events.jsonl");
+        sink = new FileOrderEventSink(objectMapper, file, DataSize.ofMegabytes(1), 3);
+
+        sink.publish(List.of(event(1), event(2)));
+        sink.publish(List.of(event(3)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("type").asText()).isEqualTo("ORDER_CREATED");
+        assertThat(first.get("order").get("id").asLong()).isEqualTo(10);
+    }
+
+    @Test
+    void fullFilesAreRolledAndOldOnesDropped() throws Exception {
+        Path file = directory.resolve("order-events.jsonl");
+        sink = new FileOrderEventSink(objectMapper, file, DataSize.ofBytes(300), 2);
+
+        for (int id = 1; id <= 12; id++) {
+            sink.publish(List.of(event(id), event(id + 100)));
+            Thread.sleep(2);
+        }
+
+        List<Path> rolled;
+        try (Stream<Path> files = Files.list(directory)) {
+            rolled = new ArrayList<>(files.filter(path -> !path.equals(file)).toList());
+        }
+        assertThat(rolled).hasSize(2);
+        assertThat(Files.size(file)).isLessThanOrEqualTo(300);
+        for (Path path : rolled) {
+            for (String line : Files.readAllLines(path)) {
+                assertThat(objectMapper.readTree(line).get("orderId").asLong()).isEqualTo(10);
+            }
+        }
+    }
+
+    private static OrderEvent event(long id) {
+        return new OrderEvent(id, OrderOutboxEvent.Type.ORDER_CREATED, 10, LocalDateTime.of(2026, 10, 16, 12, 0),
+                "{\"id\":10,\"userId\":1,\"total\":50.0,\"active\":true,\"version\":0}");
+    }
+}
@@ -0,0 +1,155 @@
+package org.technoready.meliecommerce.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.dto.BulkOrderRequestDTO;
+import org.technoready.meliecommerce.dto.BulkOrderResultDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.OrderOutboxEvent;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InsufficientStockException;
+import org.technoready.meliecommerce.repository.OrderOutboxRepository;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.service.BulkOrderService;
+import org.technoready.meliecommerce.service.OrderService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that order changes write outbox events in their own transaction, and that the relay
+ * delivers them in order, keeps them after a sink failure and reports the backlog.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderOutboxTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @Autowired
+    private InMemoryOrderEventSink sink;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productRepository.save(Product.builder().name("Outbox product").description("Outbox")
+                .price(25.0).stock(10).active(true).build());
+    }
+
+    @Test
+    void orderChangesAreDeliveredInOrder() throws Exception {
+        Order order = orderService.createOrder(1L, List.of(new OrderDetailsDTO(product.getId(), 2)));
+        orderService.updateOrder(order.getId(), List.of(new OrderDetailsDTO(product.getId(), 3)), null);
+        orderService.deleteOrder(order.getId(), null);
+
+        assertThat(orderOutboxRelay.drain()).isGreaterThanOrEqualTo(3);
+
+        List<OrderEvent> events = eventsOf(order.getId());
+        assertThat(events).extracting(OrderEvent::type).containsExactly(
+                OrderOutboxEvent.Type.ORDER_CREATED, OrderOutboxEvent.Type.ORDER_UPDATED,
+                OrderOutboxEvent.Type.ORDER_DELETED);
+
+        List<JsonNode> payloads = events.stream().map(event -> readTree(event.order())).toList();
+        assertThat(payloads.get(0).get("total").asDouble()).isEqualTo(50.0);
+        assertThat(payloads.get(0).get("createdAt").isNull()).isFalse();
+        assertThat(payloads.get(1).get("details").get(0).get("quantity").asInt()).isEqualTo(3);
+        assertThat(payloads.get(2).get("active").asBoolean()).isFalse();
+        assertThat(payloads.get(1).get("version").asLong()).isGreaterThan(payloads.get(0).get("version").asLong());
+        assertThat(payloads.get(2).get("version").asLong()).isGreaterThan(payloads.get(1).get("version").asLong());
+
+        assertThat(orderOutboxRepository.count()).isZero();
+        assertThat(meterRegistry.get("ecommerce.outbox.events.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void bulkOrdersWriteOneEventPerCreatedOrder() {
+        List<BulkOrderResultDTO> results = bulkOrderService.placeOrders(List.of(
+                new BulkOrderRequestDTO(1L, List.of(new OrderDetailsDTO(product.getId(), 1))),
+                new BulkOrderRequestDTO(1L, List.of(new OrderDetailsDTO(product.getId(), 99))),
+                new BulkOrderRequestDTO(1L, List.of(new OrderDetailsDTO(product.getId(), 2)))));
+        orderOutboxRelay.drain();
+
+        assertThat(results).extracting(BulkOrderResultDTO::isSuccess).containsExactly(true, false, true);
+        for (BulkOrderResultDTO result : List.of(results.get(0), results.get(2))) {
+            List<OrderEvent> events = eventsOf(result.getOrderId());
+            assertThat(events).extracting(OrderEvent::type).containsExactly(OrderOutboxEvent.Type.ORDER_CREATED);
+            assertThat(readTree(events.get(0).order()).get("createdAt").isNull()).isFalse();
+        }
+    }
+
+    @Test
+    void failedBatchesStayInTheOutboxUntilDelivered() {
+        double failures = meterRegistry.get("ecommerce.outbox.publish.failures").counter().count();
+        sink.setAvailable(false);
+        Order order;
+        try {
+            order = orderService.createOrder(1L, List.of(new OrderDetailsDTO(product.getId(), 1)));
+
+            assertThat(orderOutboxRelay.drain()).isZero();
+            assertThat(orderOutboxRepository.count()).isPositive();
+            assertThat(meterRegistry.get("ecommerce.outbox.publish.failures").counter().count()).isEqualTo(failures + 1);
+            assertThat(meterRegistry.get("ecommerce.outbox.events.pending").gauge().value()).isPositive();
+            assertThat(meterRegistry.get("ecommerce.outbox.lag").timeGauge().value(TimeUnit.MILLISECONDS))
+                    .isGreaterThanOrEqualTo(0);
+        } finally {
+            sink.setAvailable(true);
+        }
+
+        assertThat(orderOutboxRelay.drain()).isPositive();
+        assertThat(eventsOf(order.getId())).extracting(OrderEvent::type)
+                .containsExactly(OrderOutboxEvent.Type.ORDER_CREATED);
+        assertThat(orderOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void rolledBackOrdersWriteNoEvent() {
+        orderOutboxRelay.drain();
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, List.of(new OrderDetailsDTO(product.getId(), 11))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(orderOutboxRepository.count()).isZero();
+    }
+
+    private List<OrderEvent> eventsOf(Long orderId) {
+        return sink.events().stream().filter(event -> event.orderId() == orderId).toList();
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.technoready.meliecommerce.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application against a database holding the schema ddl-auto created before Flyway,
+ * checking that it is baselined, upgraded to what the entities map and passes validation, and
+ * that its existing rows stay readable and writable.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + LegacySchemaUpgradeTest.URL,
+        "spring.r2dbc.url=r2dbc:h2:mem:///legacy_upgrade?options=DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class LegacySchemaUpgradeTest {
+
+    static final String URL = "jdbc:h2:mem:legacy_upgrade;DB_CLOSE_DELAY=-1";
+
+    // Runs when the class is loaded, before the application context and Flyway start
+    static {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy/ddl-auto-schema.sql"));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void legacyDatabaseIsBaselinedAndUpgraded() {
+        List<String> applied = jdbcTemplate.queryForList("SELECT \"version\" || ' ' || \"type\" FROM \"flyway_schema_history\""
+                + " WHERE \"success\" AND \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class);
+
+        assertThat(applied).containsExactly("1 BASELINE", "1.1 SQL", "1.2 SQL", "2 SQL", "3 SQL", "4 SQL", "5 SQL");
+    }
+
+    @Test
+    void legacyRowsGetAVersionAndStayUpdatable() {
+        User user = userRepository.findById(1L).orElseThrow();
+        assertThat(user.getVersion()).isZero();
+
+        Product product = productRepository.findById(120L).orElseThrow();
+        assertThat(product.getVersion()).isZero();
+        assertThat(product.getStock()).isNull();
+
+        product.setPrice(90.0);
+        assertThat(productRepository.saveAndFlush(product).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void newRowsTakeIdsAboveTheLegacyOnes() {
+        Product product = productRepository.save(Product.builder()
+                .name("Desk").description("Standing desk").price(300.0).stock(3).active(true).build());
+        User user = userRepository.save(User.builder()
+                .name("Eva").lastName("Ruiz").email("eva@legacy.test").createDate(LocalDate.now()).active(true).build());
+
+        assertThat(product.getId()).isGreaterThan(120L);
+        assertThat(user.getId()).isGreaterThan(2L);
+    }
+}
@@ -0,0 +1,111 @@
+package org.technoready.meliecommerce.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each derived and filtering repository query, captures the SQL Hibernate sends and asks H2
+ * for its plan, checking that the filtered table is read through its migration index and that no
+ * table in the query (including joined order_details) is fully scanned.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.technoready.meliecommerce.repository.RepositoryQueryPlanTest$SqlRecorder")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Records every SQL statement prepared by Hibernate.
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void ordersOfUserUseUserIndex() throws SQLException {
+        // H2 indexes the user_id foreign key itself and may prefer it over the composite index
+        assertPlanUses(() -> orderRepository.findLineRowsByUserId(1L, true),
+                "IDX_ORDERS_USER_ID_ACTIVE", "FK_ORDERS_USER_ID");
+    }
+
+    @Test
+    void activeOrdersUseActiveIndex() throws SQLException {
+        assertPlanUses(() -> orderRepository.findActiveIdsAfter(0L, Limit.of(50)),
+                "IDX_ORDERS_ACTIVE_ID");
+    }
+
+    @Test
+    void activeProductsUseActiveIndex() throws SQLException {
+        assertPlanUses(() -> productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(50)),
+                "IDX_PRODUCTS_ACTIVE_ID");
+    }
+
+    @Test
+    void activeProductVersionsUseActiveIndex() throws SQLException {
+        assertPlanUses(() -> productRepository.findActiveVersionsAfter(0L, Limit.of(51)),
+                "IDX_PRODUCTS_ACTIVE_ID");
+    }
+
+    @Test
+    void activeUsersUseActiveIndex() throws SQLException {
+        assertPlanUses(() -> userRepository.findAllByActiveTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(50)),
+                "IDX_USERS_ACTIVE_ID");
+    }
+
+    private void assertPlanUses(Runnable query, String... indexes) throws SQLException {
+        SqlRecorder.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlRecorder.STATEMENTS).isNotEmpty();
+
+        String sql = SqlRecorder.STATEMENTS.get(SqlRecorder.STATEMENTS.size() - 1);
+        String plan = explain(sql).toUpperCase();
+
+        assertThat(plan).as("Plan of %s", sql).doesNotContain("TABLESCAN");
+        assertThat(plan).as("Plan of %s", sql).containsAnyOf(indexes);
+    }
+
+    private String explain(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, 1);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.technoready.meliecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.entity.Product;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks prefix matching on any word of a name, popularity ranking, and that renames, deactivations
+ * and stale writes leave the radix tree returning exactly what a full scan of the names would.
+ */
+class ProductAutocompleteIndexTest {
+
+    private ProductAutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductAutocompleteIndex(null, null);
+    }
+
+    @Test
+    void prefixesMatchAnyWordIgnoringAccentsAndCase() {
+        index.index(product(1L, 0L, "Laptop Gamer ASUS", true));
+        index.index(product(2L, 0L, "Audífonos Inalámbricos", true));
+        index.index(product(3L, 0L, "Funda para laptop", true));
+
+        assertThat(ids(index.suggest("lap", 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.suggest("GAM", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("audif", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("inalam", 10))).containsExactly(2L);
+        assertThat(ids(index.suggest("laptop  gamer!", 10))).containsExactly(1L);
+        assertThat(index.suggest("para", 10)).isEmpty();
+        assertThat(index.suggest("lapx", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+
+        for (String typed : List.of("  Laptop--GAMER 15 ", "usb-c/hdmi", "Audífonos  Pro", "_", "")) {
+            assertThat(ProductAutocompleteIndex.keyOfPrefix(typed)).isEqualTo(String.join(" ", SearchText.words(typed)));
+        }
+    }
+
+    @Test
+    void mostOrderedProductsComeFirst() {
+        index.index(product(1L, 0L, "Cable USB-C", true));
+        index.index(product(2L, 0L, "Cable HDMI", true));
+        index.index(product(3L, 0L, "Cargador USB", true));
+
+        index.recordOrderAfterCommit(Map.of(), Map.of(2L, 5, 3L, 1));
+        assertThat(ids(index.suggest("ca", 10))).containsExactly(2L, 3L, 1L);
+        assertThat(ids(index.suggest("usb", 10))).containsExactly(3L, 1L);
+        assertThat(index.suggest("ca", 1).get(0).popularity()).isEqualTo(5);
+
+        // The order of product 2 is updated to product 1 and then deleted
+        index.recordOrderAfterCommit(Map.of(2L, 5), Map.of(1L, 7));
+        assertThat(ids(index.suggest("cable", 10))).containsExactly(1L, 2L);
+        index.recordOrderAfterCommit(Map.of(1L, 7), Map.of());
+        assertThat(ids(index.suggest("ca", 10))).containsExactly(3L, 1L, 2L);
+    }
+
+    @Test
+    void renamesDeactivationsAndStaleWritesKeepTheIndexCurrent() {
+        index.index(product(1L, 0L, "Monitor 24", true));
+        index.index(product(1L, 1L, "Pantalla curva 27", true));
+
+        assertThat(index.suggest("mon", 10)).isEmpty();
+        assertThat(ids(index.suggest("curva", 10))).containsExactly(1L);
+
+        index.index(product(1L, 0L, "Monitor 24", true));
+        assertThat(index.suggest("mon", 10)).isEmpty();
+
+        index.recordOrderAfterCommit(Map.of(), Map.of(1L, 3));
+        index.index(product(1L, 2L, "Pantalla curva 27", false));
+        assertThat(index.suggest("p", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+
+        index.index(product(1L, 3L, "Pantalla curva 27", true));
+        assertThat(index.suggest("pan", 10).get(0).popularity()).isEqualTo(3);
+    }
+
+    @Test
+    void suggestionsMatchAFullScanAfterRandomWrites() {
+        String[] words = {"cable", "cab", "cargador", "car", "usb", "hdmi", "negro", "negra", "metro", "m", "tipo"};
+        SplittableRandom random = new SplittableRandom(11);
+        Map<Long, String> names = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+        Map<Long, Long> units = new HashMap<>();
+
+        for (int write = 0; write < 4000; write++) {
+            long id = 1 + random.nextInt(300);
+            long version = versions.merge(id, 1L, Long::sum);
+            if (random.nextInt(5) == 0) {
+                names.remove(id);
+                index.index(product(id, version, "x", false));
+            } else {
+                StringBuilder name = new StringBuilder();
+                for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                    name.append(words[random.nextInt(words.length)]).append(' ');
+                }
+                names.put(id, name.toString());
+                index.index(product(id, version, name.toString(), true));
+            }
+            if (random.nextInt(3) == 0) {
+                int ordered = 1 + random.nextInt(4);
+                units.merge(id, (long) ordered, Long::sum);
+                index.recordOrderAfterCommit(Map.of(), Map.of(id, ordered));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(names.size());
+        for (String prefix : List.of("c", "ca", "cab", "cable", "cable u", "car", "n", "negr", "m", "me", "tipo h", "u")) {
+            List<Long> expected = names.entrySet().stream()
+                    .filter(entry -> matches(entry.getValue(), prefix))
+                    .map(Map.Entry::getKey)
+                    .sorted(Comparator.comparing((Long id) -> units.getOrDefault(id, 0L)).reversed()
+                            .thenComparing(Comparator.naturalOrder()))
+                    .limit(ProductAutocompleteIndex.MAX_SUGGESTIONS)
+                    .toList();
+            assertThat(ids(index.suggest(prefix, 10))).as(prefix).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static boolean matches(String name, String prefix) {
+        return ProductAutocompleteIndex.keysOf(name).stream().anyMatch(key -> key.startsWith(prefix));
+    }
+
+    private static Product product(Long id, Long version, String name, boolean active) {
+        return Product.builder().id(id).version(version).name(name).description("")
+                .price(10.0).active(active).build();
+    }
+
+    private static List<Long> ids(List<ProductAutocompleteIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(ProductAutocompleteIndex.Suggestion::productId).toList();
+    }
+}
@@ -0,0 +1,124 @@
+package org.technoready.meliecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InvalidCursorException;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks price-range pages across block splits, and that price changes, deactivations and stale
+ * writes leave the sorted blocks returning exactly what a sorted scan of the products would.
+ */
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex(null);
+    }
+
+    @Test
+    void rangesAreListedCheapestFirstAcrossPages() {
+        for (long id = 1; id <= 2000; id++) {
+            index.index(product(id, 0L, (double) (id % 100), true));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Long> page = index.page(10.0, 20.0, cursor, 37);
+            assertThat(page.items().size()).isLessThanOrEqualTo(37);
+            ids.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).hasSize(11 * 20);
+        assertThat(ids.subList(0, 3)).containsExactly(10L, 110L, 210L);
+        assertThat(ids.get(ids.size() - 1)).isEqualTo(1920L);
+
+        CursorPage<Long> exact = index.page(99.0, 99.0, null, 20);
+        assertThat(exact.items()).hasSize(20);
+        assertThat(exact.nextCursor()).isNull();
+        assertThat(index.page(100.5, 200.0, null, 20).items()).isEmpty();
+    }
+
+    @Test
+    void priceChangesDeactivationsAndStaleWritesKeepTheIndexCurrent() {
+        index.index(product(1L, 0L, 50.0, true));
+        index.index(product(2L, 0L, 80.0, true));
+        index.index(product(1L, 1L, 90.0, true));
+
+        assertThat(index.page(0, 60, null, 10).items()).isEmpty();
+        assertThat(index.page(0, 100, null, 10).items()).containsExactly(2L, 1L);
+
+        index.index(product(1L, 0L, 50.0, true));
+        assertThat(index.page(0, 60, null, 10).items()).isEmpty();
+
+        index.index(product(2L, 1L, 80.0, false));
+        assertThat(index.page(0, 100, null, 10).items()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+
+        index.index(product(1L, 2L, null, true));
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThatThrownBy(() -> index.page(0, 10, "not-a-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void pagesMatchASortedScanAfterRandomWrites() {
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Long, Double> prices = new HashMap<>();
+        Map<Long, Long> versions = new HashMap<>();
+
+        for (int write = 0; write < 20000; write++) {
+            long id = 1 + random.nextInt(3000);
+            long version = versions.merge(id, 1L, Long::sum);
+            if (random.nextInt(6) == 0) {
+                prices.remove(id);
+                index.index(product(id, version, 1.0, false));
+            } else {
+                double price = random.nextInt(500) / 4.0;
+                prices.put(id, price);
+                index.index(product(id, version, price, true));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(prices.size());
+        for (double[] range : new double[][]{{0, 125}, {10, 10}, {12.5, 40.25}, {100, 1000}}) {
+            List<Long> expected = prices.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= range[0] && entry.getValue() <= range[1])
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            List<Long> listed = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<Long> page = index.page(range[0], range[1], cursor, 50);
+                listed.addAll(page.items());
+                cursor = page.nextCursor();
+            } while (cursor != null);
+            assertThat(listed).as("%s..%s", range[0], range[1]).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static Product product(Long id, Long version, Double price, boolean active) {
+        return Product.builder().id(id).version(version).name("p" + id).description("")
+                .price(price).active(active).build();
+    }
+}
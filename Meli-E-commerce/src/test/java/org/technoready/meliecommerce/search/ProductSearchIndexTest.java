@@ -0,0 +1,116 @@
+package org.technoready.meliecommerce.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.entity.Product;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks accent-insensitive matching, BM25 ranking and that incremental updates, deactivations,
+ * stale writes and compaction keep the index consistent with the latest product versions.
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+    }
+
+    @Test
+    void matchingIgnoresAccentsAndCase() {
+        index.index(product(1L, 0L, "Audífonos Inalámbricos", "Cancelación de ruido", true));
+        index.index(product(2L, 0L, "Teclado Mecánico", "Switches azules, retroiluminado", true));
+
+        assertThat(ids(index.search("AUDIFONOS", 10))).containsExactly(1L);
+        assertThat(ids(index.search("mecanico", 10))).containsExactly(2L);
+        assertThat(ids(index.search("cancelacion ruido", 10))).containsExactly(1L);
+        assertThat(index.search("de la con", 10)).isEmpty();
+        assertThat(index.search("monitor", 10)).isEmpty();
+    }
+
+    @Test
+    void rankingFavorsNameMatchesRareTermsAndMoreTerms() {
+        index.index(product(1L, 0L, "Funda para laptop", "Neopreno acolchado", true));
+        index.index(product(2L, 0L, "Laptop Gamer ASUS", "RTX 4060 y 16GB RAM", true));
+        index.index(product(3L, 0L, "Mouse gamer", "Sensor óptico para gamer", true));
+        index.index(product(4L, 0L, "Laptop oficina", "Ligera", true));
+
+        List<Long> laptopGamer = ids(index.search("laptop gamer", 10));
+        assertThat(laptopGamer.get(0)).isEqualTo(2L);
+        assertThat(laptopGamer).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+
+        // "acolchado" appears only in a description, "laptop" in three names
+        assertThat(ids(index.search("laptop acolchado", 10)).get(0)).isEqualTo(1L);
+        assertThat(ids(index.search("rtx", 10))).containsExactly(2L);
+        assertThat(ids(index.search("laptop gamer", 2))).hasSize(2).startsWith(2L);
+    }
+
+    @Test
+    void updatesReplaceTermsAndInactiveProductsDisappear() {
+        index.index(product(1L, 0L, "Monitor 24", "Full HD", true));
+        index.index(product(1L, 1L, "Monitor curvo 27", "QHD", true));
+
+        assertThat(index.search("hd", 10)).isEmpty();
+        assertThat(ids(index.search("curvo", 10))).containsExactly(1L);
+
+        index.index(product(1L, 0L, "Monitor 24", "Full HD", true));
+        assertThat(ids(index.search("curvo", 10))).containsExactly(1L);
+
+        index.index(product(1L, 2L, "Monitor curvo 27", "QHD", false));
+        assertThat(index.search("monitor", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void compactionKeepsResultsIntact() {
+        for (long id = 1; id <= 100; id++) {
+            index.index(product(id, 0L, "Cable USB " + id, "Tipo C", true));
+        }
+        for (long version = 1; version <= 40; version++) {
+            for (long id = 1; id <= 100; id++) {
+                index.index(product(id, version, "Cable USB " + id, id % 2 == 0 ? "Tipo C" : "Lightning", true));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.search("lightning", 100)).hasSize(50);
+        assertThat(ids(index.search("cable 42", 1))).containsExactly(42L);
+    }
+
+    @Test
+    void prunedTopHitsMatchTheFullRanking() {
+        String[] words = {"cable", "usb", "hdmi", "cargador", "rapido", "negro", "blanco", "metro", "tipo", "audio"};
+        SplittableRandom random = new SplittableRandom(7);
+        for (long id = 1; id <= 3000; id++) {
+            StringBuilder name = new StringBuilder();
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 1 + random.nextInt(3); i++) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            for (int i = 0; i < random.nextInt(8); i++) {
+                description.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            index.index(product(id, 0L, name.toString(), description.toString(), true));
+        }
+
+        for (String query : List.of("cable", "cable usb", "hdmi negro metro", "audio tipo rapido blanco")) {
+            List<ProductSearchIndex.Hit> all = index.search(query, 3000);
+            assertThat(index.search(query, 10)).as(query).containsExactlyElementsOf(all.subList(0, 10));
+        }
+    }
+
+    private static Product product(Long id, Long version, String name, String description, boolean active) {
+        return Product.builder().id(id).version(version).name(name).description(description)
+                .price(10.0).active(active).build();
+    }
+
+    private static List<Long> ids(List<ProductSearchIndex.Hit> hits) {
+        return hits.stream().map(ProductSearchIndex.Hit::productId).toList();
+    }
+}
@@ -0,0 +1,158 @@
+package org.technoready.meliecommerce.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.technoready.meliecommerce.dto.BulkOrderRequestDTO;
+import org.technoready.meliecommerce.dto.BulkOrderResultDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.exception.BatchTooLargeException;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that a bad bulk entry fails alone, that a chunk whose transaction fails is retried one
+ * entry at a time without duplicating the orders of the rolled back attempt, and that oversized
+ * batches are rejected before anything is placed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOrderServiceTest {
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = productService.save(Product.builder().name("Bulk product").description("Bulk")
+                .price(5.0).stock(100).active(true).build());
+    }
+
+    @Test
+    void badEntriesFailAlone() {
+        Long first = createUser();
+        Long inactive = createUser();
+        userService.delete(inactive, null);
+        Long last = createUser();
+        Product scarce = productService.save(Product.builder().name("Scarce product").description("Bulk")
+                .price(7.0).stock(1).active(true).build());
+
+        List<BulkOrderResultDTO> results = bulkOrderService.placeOrders(List.of(
+                entry(first, product.getId(), 2),
+                entry(9_999_999L, product.getId(), 1),
+                entry(inactive, product.getId(), 1),
+                entry(first, 9_999_999L, 1),
+                entry(first, scarce.getId(), 5),
+                entry(last, product.getId(), 1)));
+
+        assertThat(results).extracting(BulkOrderResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(BulkOrderResultDTO::isSuccess)
+                .containsExactly(true, false, false, false, false, true);
+        assertThat(results.get(0).getTotal()).isEqualTo(10.0);
+        assertThat(results.get(1).getError()).contains("User not found");
+        assertThat(results.get(2).getError()).contains("inactive");
+        assertThat(results.get(3).getError()).contains(String.valueOf(9_999_999L));
+        assertThat(results.get(4).getError()).contains("Insufficient stock");
+
+        assertThat(orderService.getOrdersByUserId(first)).hasSize(1);
+        assertThat(orderService.getOrdersByUserId(last)).hasSize(1);
+        assertThat(stockOf(product)).isEqualTo(97);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void failedChunkIsRetriedOneEntryAtATime() {
+        List<Long> users = List.of(createUser(), createUser(), createUser(), createUser());
+        Long poisoned = users.get(2);
+        // Cached, then deleted behind the cache's back, so its order line fails the foreign key at flush
+        Product deleted = productService.save(Product.builder().name("Deleted product").description("Bulk")
+                .price(5.0).active(true).build());
+        productService.findById(deleted.getId());
+        productRepository.deleteById(deleted.getId());
+
+        List<BulkOrderResultDTO> results = bulkOrderService.placeOrders(users.stream()
+                .map(user -> entry(user, user.equals(poisoned) ? deleted.getId() : product.getId(), 3))
+                .toList());
+
+        assertThat(results).extracting(BulkOrderResultDTO::isSuccess).containsExactly(true, true, false, true);
+        assertThat(results.get(2).getError()).isEqualTo("Could not persist order");
+        for (Long user : users) {
+            assertThat(orderService.getOrdersByUserId(user)).hasSize(user.equals(poisoned) ? 0 : 1);
+        }
+        // The rolled back chunk released nothing twice and reserved nothing twice
+        assertThat(stockOf(product)).isEqualTo(100 - 3 * 3);
+    }
+
+    @Test
+    void oversizedBatchesAreRejected() throws Exception {
+        Long user = createUser();
+        List<BulkOrderRequestDTO> requests = Collections.nCopies(BulkOrderService.MAX_BATCH_SIZE + 1,
+                entry(user, product.getId(), 1));
+
+        assertThatThrownBy(() -> bulkOrderService.placeOrders(requests))
+                .isInstanceOf(BatchTooLargeException.class);
+
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i <= BulkOrderService.MAX_BATCH_SIZE; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"userId\":").append(user)
+                    .append(",\"details\":[{\"productId\":").append(product.getId()).append(",\"quantity\":1}]}");
+        }
+        mockMvc.perform(post("/api/orders/batch").contentType(MediaType.APPLICATION_JSON).content(body.append("]").toString()))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.status").value(413));
+
+        assertThat(orderService.getOrdersByUserId(user)).isEmpty();
+        assertThat(stockOf(product)).isEqualTo(100);
+    }
+
+    private Long createUser() {
+        String unique = String.valueOf(System.nanoTime());
+        return userService.save(User.builder().name("Bulk").lastName("User")
+                .email("bulk" + unique + "@test.com").active(true).build()).getId();
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStock();
+    }
+
+    private static BulkOrderRequestDTO entry(Long userId, Long productId, int quantity) {
+        List<OrderDetailsDTO> details = new ArrayList<>();
+        details.add(new OrderDetailsDTO(productId, quantity));
+        return new BulkOrderRequestDTO(userId, details);
+    }
+}
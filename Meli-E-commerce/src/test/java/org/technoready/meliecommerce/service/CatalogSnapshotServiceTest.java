@@ -0,0 +1,171 @@
+package org.technoready.meliecommerce.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+import org.technoready.meliecommerce.util.CursorPage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the catalog snapshot is read in keyset batches, that a rebuild re-reads only the
+ * pages holding a changed product, plus the pages shifted by a product leaving the catalog, and
+ * that a page changed behind the cache's back is not served and gets re-read.
+ */
+class CatalogSnapshotServiceTest {
+
+    private final Map<Long, Product> catalog = new ConcurrentSkipListMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private ProductRepository productRepository;
+
+    private ProductCatalogCache productCatalogCache;
+
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        addProducts(1, 120);
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findByActiveTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return catalog.values().stream()
+                    .filter(product -> product.isActive() && product.getId() > afterId)
+                    .limit(limit.max())
+                    .toList();
+        });
+        productCatalogCache = new ProductCatalogCache(productRepository, true, 100, Duration.ZERO);
+        snapshotService = new CatalogSnapshotService(productRepository, productCatalogCache, objectMapper,
+                true, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void catalogIsReadInKeysetBatches() throws Exception {
+        addProducts(121, 1200);
+        snapshotService.warm();
+
+        List<JsonNode> pages = awaitPages();
+        assertThat(pages).hasSize(24);
+        assertThat(pages.get(23).get("data").get(49).get("id").asLong()).isEqualTo(1200L);
+        verify(productRepository, times(3)).findByActiveTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(productRepository).findByActiveTrueAndIdGreaterThanOrderByIdAsc(1000L, Limit.of(500));
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void stockChangeRereadsOnlyItsPage() throws Exception {
+        snapshotService.warm();
+        awaitPages();
+        clearInvocations(productRepository);
+
+        catalog.get(75L).setStock(3);
+        catalog.get(75L).setVersion(1L);
+        productCatalogCache.evictAfterCommit(List.of(75L));
+
+        List<JsonNode> pages = awaitPages();
+        verify(productRepository).findByActiveTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        verify(productRepository).findByActiveTrueAndIdGreaterThanOrderByIdAsc(50L, Limit.of(CursorPage.DEFAULT_SIZE + 1));
+        assertThat(pages.get(1).get("data").get(24).get("stock").asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void deactivationRereadsItsPageAndThoseAfterIt() throws Exception {
+        snapshotService.warm();
+        awaitPages();
+        clearInvocations(productRepository);
+
+        catalog.get(60L).setActive(false);
+        productCatalogCache.invalidate(60L);
+
+        List<JsonNode> pages = awaitPages();
+        verify(productRepository, times(2)).findByActiveTrueAndIdGreaterThanOrderByIdAsc(anyLong(), any());
+        List<Long> ids = new ArrayList<>();
+        pages.forEach(page -> page.get("data").forEach(product -> ids.add(product.get("id").asLong())));
+        assertThat(ids).hasSize(119).doesNotContain(60L).isSorted();
+    }
+
+    @Test
+    void pageChangedElsewhereIsNotServedAndIsReread() throws Exception {
+        snapshotService.warm();
+        awaitPages();
+        clearInvocations(productRepository);
+
+        // Written by another node: the cache is never told
+        catalog.get(75L).setStock(3);
+        catalog.get(75L).setVersion(1L);
+        String cursor = CursorPage.encode(50L);
+        assertThat(snapshotService.activePage(cursor, CursorPage.DEFAULT_SIZE, tagOf(cursor))).isEmpty();
+
+        List<JsonNode> pages = awaitPages();
+        verify(productRepository).findByActiveTrueAndIdGreaterThanOrderByIdAsc(50L, Limit.of(CursorPage.DEFAULT_SIZE + 1));
+        assertThat(pages.get(1).get("data").get(24).get("stock").asInt()).isEqualTo(3);
+    }
+
+    private void addProducts(long fromId, long toId) {
+        for (long id = fromId; id <= toId; id++) {
+            catalog.put(id, Product.builder().id(id).name("p" + id).description("").price(1.0).stock(10).active(true)
+                    .version(0L).build());
+        }
+    }
+
+    /**
+     * Waits until every page of the snapshot matches the catalog and returns the pages in order.
+     */
+    private List<JsonNode> awaitPages() throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            List<JsonNode> pages = new ArrayList<>();
+            String cursor = null;
+            Optional<CatalogSnapshotService.EncodedPage> encoded;
+            while ((encoded = snapshotService.activePage(cursor, CursorPage.DEFAULT_SIZE, tagOf(cursor))).isPresent()) {
+                JsonNode page = objectMapper.readTree(encoded.get().json());
+                pages.add(page);
+                cursor = page.path("nextCursor").asText(null);
+                if (cursor == null) {
+                    return pages;
+                }
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Catalog snapshot was not rebuilt");
+    }
+
+    /**
+     * Computes the ETag the page after the cursor has in the catalog now.
+     */
+    private String tagOf(String cursor) {
+        long afterId = CursorPage.decode(cursor);
+        List<Product> fetched = catalog.values().stream()
+                .filter(product -> product.isActive() && product.getId() > afterId)
+                .limit(CursorPage.DEFAULT_SIZE + 1)
+                .toList();
+        return ProductService.pageTag(CursorPage.of(new ArrayList<>(fetched), CursorPage.DEFAULT_SIZE, Product::getId));
+    }
+}
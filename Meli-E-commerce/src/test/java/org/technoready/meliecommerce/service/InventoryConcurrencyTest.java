@@ -0,0 +1,137 @@
+package org.technoready.meliecommerce.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.InsufficientStockException;
+import org.technoready.meliecommerce.exception.InvalidQuantityException;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that stock reservation never oversells a product, even with thousands of buyers racing
+ * for the same one, that updating or deleting an order moves stock back correctly, and that lines
+ * with a quantity below one never reach the stock.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryConcurrencyTest {
+
+    private static final int STOCK = 500;
+    private static final int BUYERS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void concurrentBuyersNeverOversellAHotProduct() throws Exception {
+        Product product = newProduct(STOCK);
+        List<OrderDetailsDTO> oneUnit = List.of(new OrderDetailsDTO(product.getId(), 1));
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> buyers = new ArrayList<>(BUYERS);
+        try {
+            for (int i = 0; i < BUYERS; i++) {
+                buyers.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(1L, oneUnit);
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> buyer : buyers) {
+                buyer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(sold.get()).isEqualTo(STOCK);
+        assertThat(rejected.get()).isEqualTo(BUYERS - STOCK);
+        assertThat(stockOf(product)).isZero();
+    }
+
+    @Test
+    void failedReservationKeepsEveryProductUntouched() {
+        Product plenty = newProduct(10);
+        Product scarce = newProduct(1);
+
+        assertThatThrownBy(() -> orderService.createOrder(1L, List.of(
+                new OrderDetailsDTO(plenty.getId(), 3),
+                new OrderDetailsDTO(scarce.getId(), 2))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(stockOf(plenty)).isEqualTo(10);
+        assertThat(stockOf(scarce)).isEqualTo(1);
+    }
+
+    @Test
+    void updateAndDeleteMoveStockBack() {
+        Product first = newProduct(10);
+        Product second = newProduct(10);
+
+        Order order = orderService.createOrder(1L, List.of(new OrderDetailsDTO(first.getId(), 4)));
+        assertThat(stockOf(first)).isEqualTo(6);
+
+        orderService.updateOrder(order.getId(), List.of(
+                new OrderDetailsDTO(first.getId(), 1),
+                new OrderDetailsDTO(second.getId(), 5)), null);
+        assertThat(stockOf(first)).isEqualTo(9);
+        assertThat(stockOf(second)).isEqualTo(5);
+
+        orderService.deleteOrder(order.getId(), null);
+        assertThat(stockOf(first)).isEqualTo(10);
+        assertThat(stockOf(second)).isEqualTo(10);
+    }
+
+    @Test
+    void nonPositiveQuantitiesAreRejectedWithoutTouchingStock() {
+        Product product = newProduct(10);
+        Order order = orderService.createOrder(1L, List.of(new OrderDetailsDTO(product.getId(), 5)));
+
+        assertThatThrownBy(() -> orderService.updateOrder(order.getId(),
+                List.of(new OrderDetailsDTO(product.getId(), -1000)), null))
+                .isInstanceOf(InvalidQuantityException.class);
+        assertThatThrownBy(() -> orderService.createOrder(1L, List.of(new OrderDetailsDTO(product.getId(), 0))))
+                .isInstanceOf(InvalidQuantityException.class);
+
+        assertThat(stockOf(product)).isEqualTo(5);
+        assertThat(orderService.getOrderById(order.getId()).orElseThrow().getTotal()).isEqualTo(50.0);
+    }
+
+    private Product newProduct(int stock) {
+        return productRepository.save(Product.builder().name("Stock product").description("Stock")
+                .price(10.0).stock(stock).active(true).build());
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStock();
+    }
+}
@@ -0,0 +1,132 @@
+package org.technoready.meliecommerce.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.technoready.meliecommerce.cache.ProductCatalogCache;
+import org.technoready.meliecommerce.dto.ErrorResponseDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.OrderDetails;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.exception.GlobalExceptionHandler;
+import org.technoready.meliecommerce.exception.UnavailableProductsException;
+import org.technoready.meliecommerce.metrics.ECommerceMetrics;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that repeated products are merged into one line, that all products of an order are
+ * looked up with one query, and that every missing and inactive product is reported in a single
+ * exception, answered with 404 when any product is missing and 400 when all exist but are inactive.
+ */
+class OrderPricingServiceTest {
+
+    private final Map<Long, Product> catalog = LongStream.rangeClosed(1, 20).boxed()
+            .collect(Collectors.toMap(id -> id, id -> Product.builder().id(id).name("Product " + id)
+                    .description("Description " + id).price(id * 1.5).active(id != 7 && id != 8).build()));
+
+    private ProductRepository productRepository;
+
+    private OrderPricingService pricingService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(catalog::get).filter(product -> product != null).toList();
+        });
+        when(productRepository.getReferenceById(any()))
+                .thenAnswer(invocation -> Product.builder().id(invocation.getArgument(0)).build());
+        meterRegistry = new SimpleMeterRegistry();
+        pricingService = new OrderPricingService(
+                new ProductCatalogCache(productRepository, true, 100, Duration.ZERO), productRepository,
+                new ECommerceMetrics(meterRegistry));
+    }
+
+    @Test
+    void repeatedProductsAreMerged() {
+        OrderPricingService.PricedOrder priced = pricingService.price(new Order(), List.of(
+                new OrderDetailsDTO(2L, 1), new OrderDetailsDTO(5L, 2), new OrderDetailsDTO(2L, 3)));
+
+        assertThat(priced.details()).extracting(detail -> detail.getProduct().getId()).containsExactly(2L, 5L);
+        assertThat(priced.details()).extracting(OrderDetails::getQuantity).containsExactly(4, 2);
+        assertThat(priced.details().get(0).getUnitPrice()).isEqualTo(3.0);
+        assertThat(priced.details().get(0).getProductName()).isEqualTo("Product 2");
+        assertThat(priced.total()).isEqualTo(4 * 3.0 + 2 * 7.5);
+        assertThat(meterRegistry.get("ecommerce.order.lines.priced").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void allLinesArePricedWithOneQuery() {
+        List<OrderDetailsDTO> lines = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            if (id != 7 && id != 8) {
+                lines.add(new OrderDetailsDTO(id, 1));
+            }
+        }
+
+        assertThat(pricingService.price(new Order(), lines).details()).hasSize(18);
+        verify(productRepository, times(1)).findAllById(any());
+
+        pricingService.price(new Order(), lines.subList(0, 5));
+        verify(productRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void missingAndInactiveProductsAreReportedTogether() {
+        UnavailableProductsException ex = catchThrowableOfType(UnavailableProductsException.class,
+                () -> pricingService.price(new Order(), List.of(new OrderDetailsDTO(1L, 1), new OrderDetailsDTO(99L, 1),
+                        new OrderDetailsDTO(7L, 1), new OrderDetailsDTO(98L, 2), new OrderDetailsDTO(8L, 1))));
+
+        assertThat(ex.getMissingIds()).containsExactly(99L, 98L);
+        assertThat(ex.getInactiveIds()).containsExactly(7L, 8L);
+        verify(productRepository, times(1)).findAllById(any());
+        assertThat(meterRegistry.get("ecommerce.order.lines.priced").counter().count()).isZero();
+
+        ResponseEntity<ErrorResponseDTO> response = handle(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody().getDetails()).containsExactly(
+                "Product not found with id: 99", "Product not found with id: 98",
+                "Product is inactive with id: 7", "Product is inactive with id: 8");
+    }
+
+    @Test
+    void onlyInactiveProductsAreABadRequest() {
+        UnavailableProductsException ex = catchThrowableOfType(UnavailableProductsException.class,
+                () -> pricingService.price(new Order(), List.of(new OrderDetailsDTO(7L, 1), new OrderDetailsDTO(3L, 1))));
+
+        assertThat(ex.getMissingIds()).isEmpty();
+        assertThat(ex.getInactiveIds()).containsExactly(7L);
+
+        ResponseEntity<ErrorResponseDTO> response = handle(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getDetails()).containsExactly("Product is inactive with id: 7");
+    }
+
+    private ResponseEntity<ErrorResponseDTO> handle(UnavailableProductsException ex) {
+        return new GlobalExceptionHandler(new ECommerceMetrics(new SimpleMeterRegistry()))
+                .handleUnavailableProductsException(ex, new MockHttpServletRequest("POST", "/api/orders/1"));
+    }
+}
@@ -0,0 +1,77 @@
+package org.technoready.meliecommerce.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that an order and its details are written with JDBC batching, so the number of
+ * statements prepared to create an order does not grow with the number of lines.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceBatchInsertTest {
+
+    private static final int MAX_STATEMENTS_PER_ORDER = 6;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Product> newProducts = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            newProducts.add(Product.builder().name("Batch product " + i).description("Batch")
+                    .price(10.0 + i).active(true).build());
+        }
+        products = productRepository.saveAll(newProducts);
+    }
+
+    @Test
+    void orderDetailsAreInsertedInConstantStatements() {
+        long small = statementsToCreateOrderWith(5);
+        long large = statementsToCreateOrderWith(40);
+
+        assertThat(small).isLessThanOrEqualTo(MAX_STATEMENTS_PER_ORDER);
+        assertThat(large).isLessThanOrEqualTo(MAX_STATEMENTS_PER_ORDER);
+    }
+
+    private long statementsToCreateOrderWith(int lines) {
+        List<OrderDetailsDTO> details = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            details.add(new OrderDetailsDTO(products.get(i).getId(), 1));
+        }
+
+        statistics.clear();
+        Order order = orderService.createOrder(1L, details);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(order.getDetails()).hasSize(lines);
+        return statements;
+    }
+}
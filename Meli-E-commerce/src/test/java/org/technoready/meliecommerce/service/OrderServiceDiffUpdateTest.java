@@ -0,0 +1,165 @@
+package org.technoready.meliecommerce.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.dto.OrderDetailsResponseDTO;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.Product;
+import org.technoready.meliecommerce.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks that updating an order writes only the lines that changed and keeps the total consistent
+ * with its lines, instead of deleting and re-inserting every line, and that added units are
+ * charged at the current catalog price.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceDiffUpdateTest {
+
+    private static final int LINES = 40;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Product> products;
+
+    private List<OrderDetailsDTO> lines;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<Product> newProducts = new ArrayList<>();
+        for (int i = 0; i <= LINES; i++) {
+            newProducts.add(Product.builder().name("Diff product " + i).description("Diff")
+                    .price(10.0 + i).active(true).build());
+        }
+        products = productRepository.saveAll(newProducts);
+
+        lines = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            lines.add(new OrderDetailsDTO(products.get(i).getId(), 1));
+        }
+        order = orderService.createOrder(1L, lines);
+    }
+
+    @Test
+    void changingOneQuantityUpdatesOnlyThatLine() {
+        lines.set(7, new OrderDetailsDTO(products.get(7).getId(), 3));
+
+        statistics.clear();
+        OrderResponseDTO updated = orderService.updateOrder(order.getId(), lines, null);
+
+        // The only insert is the ORDER_UPDATED outbox event
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(updated.getTotal()).isCloseTo(order.getTotal() + 2 * 17.0, within(1e-6));
+        assertThat(updated.getTotal()).isCloseTo(totalOf(updated), within(1e-6));
+    }
+
+    @Test
+    void addedAndRemovedLinesAreInsertedAndDeleted() {
+        lines.remove(0);
+        lines.set(0, new OrderDetailsDTO(products.get(1).getId(), 2));
+        lines.add(new OrderDetailsDTO(products.get(LINES).getId(), 4));
+
+        statistics.clear();
+        OrderResponseDTO updated = orderService.updateOrder(order.getId(), lines, null);
+
+        // The added line and the ORDER_UPDATED outbox event
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(updated.getDetails()).hasSize(LINES);
+        assertThat(updated.getDetails()).extracting(OrderDetailsResponseDTO::getProductId)
+                .doesNotContain(products.get(0).getId())
+                .contains(products.get(LINES).getId());
+        assertThat(updated.getTotal()).isCloseTo(totalOf(updated), within(1e-6));
+    }
+
+    @Test
+    void unchangedRequestWritesNothing() {
+        statistics.clear();
+        OrderResponseDTO updated = orderService.updateOrder(order.getId(), lines, null);
+
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion());
+        assertThat(updated.getTotal()).isEqualTo(order.getTotal());
+    }
+
+    @Test
+    void grownLinesArePricedAtTheCurrentCatalogPrice() {
+        raisePrice(products.get(7), 100.0);
+        raisePrice(products.get(8), 100.0);
+        lines.set(7, new OrderDetailsDTO(products.get(7).getId(), 1000));
+
+        OrderResponseDTO updated = orderService.updateOrder(order.getId(), lines, null);
+
+        assertThat(lineOf(updated, products.get(7)).getUnitPrice()).isEqualTo(100.0);
+        assertThat(lineOf(updated, products.get(7)).getQuantity()).isEqualTo(1000);
+        // Unchanged lines keep the price they were ordered at
+        assertThat(lineOf(updated, products.get(8)).getUnitPrice()).isEqualTo(18.0);
+        assertThat(updated.getTotal()).isCloseTo(order.getTotal() - 17.0 + 100.0 * 1000, within(1e-6));
+    }
+
+    @Test
+    void totalDoesNotDriftOverManyEdits() {
+        List<Product> cents = productRepository.saveAll(List.of(
+                Product.builder().name("Cents 1").description("Diff").price(0.1).active(true).build(),
+                Product.builder().name("Cents 2").description("Diff").price(0.7).active(true).build()));
+        List<OrderDetailsDTO> original = List.of(
+                new OrderDetailsDTO(cents.get(0).getId(), 3), new OrderDetailsDTO(cents.get(1).getId(), 1));
+        Order edited = orderService.createOrder(1L, original);
+
+        for (int edit = 0; edit < 50; edit++) {
+            orderService.updateOrder(edited.getId(), List.of(
+                    new OrderDetailsDTO(cents.get(0).getId(), 3), new OrderDetailsDTO(cents.get(1).getId(), 7)), null);
+            orderService.updateOrder(edited.getId(), original, null);
+        }
+
+        assertThat(orderService.getOrderById(edited.getId()).orElseThrow().getTotal()).isEqualTo(edited.getTotal());
+    }
+
+    private void raisePrice(Product product, double price) {
+        productService.update(Product.builder().name(product.getName()).description(product.getDescription())
+                .price(price).active(true).build(), product.getId(), null);
+    }
+
+    private static OrderDetailsResponseDTO lineOf(OrderResponseDTO order, Product product) {
+        return order.getDetails().stream()
+                .filter(detail -> detail.getProductId().equals(product.getId()))
+                .findFirst().orElseThrow();
+    }
+
+    private static double totalOf(OrderResponseDTO order) {
+        return order.getDetails().stream().mapToDouble(d -> d.getUnitPrice() * d.getQuantity()).sum();
+    }
+}
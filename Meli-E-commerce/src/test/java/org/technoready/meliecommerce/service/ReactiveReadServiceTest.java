@@ -0,0 +1,97 @@
+package org.technoready.meliecommerce.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.technoready.meliecommerce.dto.OrderDetailsDTO;
+import org.technoready.meliecommerce.entity.Order;
+import org.technoready.meliecommerce.entity.User;
+import org.technoready.meliecommerce.exception.ResourceNotFoundException;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the R2DBC read side sees the rows written through JPA, groups order lines into
+ * orders and only reads as many orders as the subscriber requests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReactiveReadServiceTest {
+
+    @Autowired
+    private ReactiveReadService reactiveReadService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+
+    private Order first;
+
+    private Order second;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.save(User.builder().name("Reactive").lastName("Reader")
+                .email("reactive" + System.nanoTime() + "@example.com").active(true).build());
+        first = orderService.createOrder(user.getId(), List.of(
+                new OrderDetailsDTO(1L, 1),
+                new OrderDetailsDTO(2L, 2),
+                new OrderDetailsDTO(3L, 3)));
+        second = orderService.createOrder(user.getId(), List.of(new OrderDetailsDTO(4L, 1)));
+    }
+
+    @Test
+    void ordersOfUserAreGroupedWithTheirDetails() {
+        StepVerifier.create(reactiveReadService.findOrdersByUserId(user.getId(), true))
+                .assertNext(order -> {
+                    assertThat(order.getId()).isEqualTo(first.getId());
+                    assertThat(order.getDetails()).hasSize(3);
+                    assertThat(order.getTotal()).isEqualTo(first.getTotal());
+                })
+                .assertNext(order -> {
+                    assertThat(order.getId()).isEqualTo(second.getId());
+                    assertThat(order.getDetails()).hasSize(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void ordersAreEmittedOnDemand() {
+        StepVerifier.create(reactiveReadService.findOrdersByUserId(user.getId(), true), 1)
+                .assertNext(order -> assertThat(order.getId()).isEqualTo(first.getId()))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .assertNext(order -> assertThat(order.getId()).isEqualTo(second.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void missingResourcesSignalNotFound() {
+        StepVerifier.create(reactiveReadService.findOrderById(Long.MAX_VALUE))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+        StepVerifier.create(reactiveReadService.findProductById(Long.MAX_VALUE))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void productsAndUsersAreRead() {
+        StepVerifier.create(reactiveReadService.findUserById(user.getId()))
+                .assertNext(found -> assertThat(found.getEmail()).isEqualTo(user.getEmail()))
+                .verifyComplete();
+        StepVerifier.create(reactiveReadService.findProducts(false).take(1))
+                .assertNext(product -> assertThat(product.getId()).isNotNull())
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,43 @@
+package org.technoready.meliecommerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that gzip is only chosen when the client gives it, or a wildcard standing for it,
+ * a quality above zero.
+ */
+class AcceptEncodingTest {
+
+    @Test
+    void listedGzipIsAccepted() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip")).isTrue();
+    }
+
+    @Test
+    void gzipWithZeroQualityIsRefused() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity, gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("*, gzip; q=0.000")).isFalse();
+    }
+
+    @Test
+    void wildcardOnlyStandsForUnlistedGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("*")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("identity;q=1, *;q=0.1")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("*;q=0")).isFalse();
+    }
+
+    @Test
+    void missingOrUnrelatedHeaderMeansNoGzip() {
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("deflate, br")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("notgzip")).isFalse();
+    }
+}
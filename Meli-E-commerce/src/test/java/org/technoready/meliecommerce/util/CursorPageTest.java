@@ -0,0 +1,73 @@
+package org.technoready.meliecommerce.util;
+
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks cursor encoding round trips, that malformed cursors are rejected, that page sizes are
+ * clamped, and that the extra fetched row only produces the next cursor.
+ */
+class CursorPageTest {
+
+    @Test
+    void cursorsRoundTrip() {
+        for (long id : new long[]{1L, 50L, 123_456_789L, Long.MAX_VALUE}) {
+            String cursor = CursorPage.encode(id);
+            assertThat(cursor).doesNotContain("=", "+", "/");
+            assertThat(CursorPage.decode(cursor)).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void missingCursorStartsAtTheFirstPage() {
+        assertThat(CursorPage.decode(null)).isZero();
+        assertThat(CursorPage.decode("")).isZero();
+        assertThat(CursorPage.decode("  ")).isZero();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String notANumber = Base64.getUrlEncoder().encodeToString("abc".getBytes(StandardCharsets.US_ASCII));
+
+        for (String cursor : new String[]{"not a cursor!", "%%%", notANumber}) {
+            assertThatThrownBy(() -> CursorPage.decode(cursor))
+                    .isInstanceOf(InvalidCursorException.class)
+                    .hasMessageContaining(cursor)
+                    .extracting(ex -> ((InvalidCursorException) ex).getCursor())
+                    .isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void pageSizesAreClamped() {
+        assertThat(CursorPage.clampSize(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(0)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(CursorPage.DEFAULT_SIZE)).isEqualTo(CursorPage.DEFAULT_SIZE);
+        assertThat(CursorPage.clampSize(CursorPage.MAX_SIZE)).isEqualTo(CursorPage.MAX_SIZE);
+        assertThat(CursorPage.clampSize(10_000)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+
+    @Test
+    void extraRowSignalsTheNextPage() {
+        List<Long> fetched = LongStream.rangeClosed(11, 21).boxed().toList();
+
+        CursorPage<Long> full = CursorPage.of(fetched, 10, Function.identity());
+        assertThat(full.items()).hasSize(10).endsWith(20L);
+        assertThat(CursorPage.decode(full.nextCursor())).isEqualTo(20L);
+
+        CursorPage<Long> last = CursorPage.of(fetched.subList(0, 10), 10, Function.identity());
+        assertThat(last.items()).hasSize(10);
+        assertThat(last.nextCursor()).isNull();
+
+        assertThat(CursorPage.of(List.<Long>of(), 10, Function.identity()).nextCursor()).isNull();
+    }
+}
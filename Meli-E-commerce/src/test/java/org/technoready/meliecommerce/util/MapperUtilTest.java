@@ -0,0 +1,75 @@
+package org.technoready.meliecommerce.util;
+
+import org.junit.jupiter.api.Test;
+import org.technoready.meliecommerce.dto.OrderDetailsResponseDTO;
+import org.technoready.meliecommerce.dto.OrderLineRowDTO;
+import org.technoready.meliecommerce.dto.OrderResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that order line rows are grouped into one order per ID, keeping the row order of the
+ * lines, and that an order without lines is returned with no details.
+ */
+class MapperUtilTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 16, 12, 0);
+
+    @Test
+    void rowsAreGroupedIntoOrdersInOrder() {
+        List<OrderLineRowDTO> rows = List.of(
+                line(1L, 30L, 3), line(1L, 10L, 1), line(1L, 20L, 2),
+                empty(2L),
+                line(5L, 10L, 4),
+                line(7L, 40L, 1), line(7L, 10L, 2));
+
+        List<OrderResponseDTO> orders = MapperUtil.toDTOListFromRows(rows);
+
+        assertThat(orders).extracting(OrderResponseDTO::getId).containsExactly(1L, 2L, 5L, 7L);
+        assertThat(orders.get(0).getDetails()).extracting(OrderDetailsResponseDTO::getProductId)
+                .containsExactly(30L, 10L, 20L);
+        assertThat(orders.get(0).getDetails()).extracting(OrderDetailsResponseDTO::getQuantity)
+                .containsExactly(3, 1, 2);
+        assertThat(orders.get(1).getDetails()).isEmpty();
+        assertThat(orders.get(2).getDetails()).singleElement()
+                .satisfies(detail -> {
+                    assertThat(detail.getProductName()).isEqualTo("Product 10");
+                    assertThat(detail.getDescriptionSnap()).isEqualTo("Description 10");
+                    assertThat(detail.getUnitPrice()).isEqualTo(2.5);
+                });
+        assertThat(orders.get(3).getDetails()).extracting(OrderDetailsResponseDTO::getProductId)
+                .containsExactly(40L, 10L);
+    }
+
+    @Test
+    void orderFieldsComeFromItsRows() {
+        OrderResponseDTO order = MapperUtil.toDTOListFromRows(List.of(line(9L, 10L, 1), line(9L, 20L, 1))).get(0);
+
+        assertThat(order.getUserId()).isEqualTo(3L);
+        assertThat(order.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(order.getTotal()).isEqualTo(90.0);
+        assertThat(order.isActive()).isTrue();
+        assertThat(order.getVersion()).isEqualTo(9L);
+    }
+
+    @Test
+    void noRowsGiveNoOrders() {
+        assertThat(MapperUtil.toDTOListFromRows(List.of())).isEmpty();
+        assertThat(MapperUtil.toDTOListFromRows(List.of(empty(4L)))).singleElement()
+                .satisfies(order -> assertThat(order.getDetails()).isEmpty());
+    }
+
+    private static OrderLineRowDTO line(Long orderId, Long productId, int quantity) {
+        return new OrderLineRowDTO(orderId, 3L, CREATED_AT, orderId * 10, true, orderId,
+                productId, "Product " + productId, "Description " + productId, quantity, 2.5);
+    }
+
+    private static OrderLineRowDTO empty(Long orderId) {
+        // The left join yields one row with null line columns for an order without details
+        return new OrderLineRowDTO(orderId, 3L, CREATED_AT, 0, true, orderId,
+                null, null, null, null, null);
+    }
+}
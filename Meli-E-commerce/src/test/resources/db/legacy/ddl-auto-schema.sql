@@ -0,0 +1,18 @@
+-- Schema ddl-auto generated on H2 from the entities before Flyway took over: identity ids, no
+-- version or stock columns and no sequences. Rows are what an existing database would hold.
+
+create table users (active boolean not null, create_date date not null, id bigint generated by default as identity, email varchar(255) not null, last_name varchar(255) not null, name varchar(255) not null, primary key (id));
+create table products (is_active boolean not null, created_at time(6), price float(53), id bigint generated by default as identity, description varchar(255), name varchar(255), primary key (id));
+create table orders (active boolean not null, total float(53) not null, created_at timestamp(6), id bigint generated by default as identity, user_id bigint not null, primary key (id));
+create table order_details (quantity integer not null, unit_price float(53), id bigint generated by default as identity, order_id bigint not null, product_id bigint not null, description_snap varchar(255), product_name varchar(255), primary key (id));
+alter table if exists users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table if exists orders add constraint FK32ql8ubntj5uh44ph9659tiih foreign key (user_id) references users;
+alter table if exists order_details add constraint FKjyu2qbqt8gnvno9oe9j2s2ldk foreign key (order_id) references orders;
+alter table if exists order_details add constraint FK4q98utpd73imf4yhttm3w0eax foreign key (product_id) references products;
+
+insert into users (name, last_name, email, create_date, active) values ('Ana', 'Lopez', 'ana@legacy.test', DATE '2025-01-10', true);
+insert into users (name, last_name, email, create_date, active) values ('Luis', 'Perez', 'luis@legacy.test', DATE '2025-02-11', false);
+insert into products (name, description, price, created_at, is_active) values ('Lamp', 'Desk lamp', 25.0, TIME '10:00:00', true);
+insert into products (id, name, description, price, created_at, is_active) values (120, 'Chair', 'Office chair', 80.0, TIME '11:00:00', true);
+insert into orders (user_id, created_at, total, active) values (1, TIMESTAMP '2025-03-01 09:30:00', 50.0, true);
+insert into order_details (order_id, product_id, product_name, description_snap, quantity, unit_price) values (1, 1, 'Lamp', 'Desk lamp', 2, 25.0);